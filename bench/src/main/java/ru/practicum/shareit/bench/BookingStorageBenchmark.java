@@ -0,0 +1,125 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingWindow;
+import ru.practicum.shareit.booking.storage.BookingDbStorage;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BookingStorageBenchmark {
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+    private static final BookingWindow WAITING = BookingWindow.withStatus(BookingStatus.WAITING);
+    private static final long USER_ID = SeededDatabase.USER_ID;
+
+    private BookingDbStorage bookingDbStorage;
+    private LocalDateTime now;
+    private List<Long> ownerItemIds;
+
+    @Setup
+    public void setUp(SeededDatabase database) {
+        bookingDbStorage = database.getBean(BookingDbStorage.class);
+        now = database.getNow();
+        ownerItemIds = database.getOwnerItemIds();
+    }
+
+    @Benchmark
+    public Slice<Booking> findAllUserBookings() {
+        return bookingDbStorage.findAllUserBookings(USER_ID, BookingWindow.ANY, BookingCursor.FIRST, PAGE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findAllUserFutureBookings() {
+        return bookingDbStorage.findAllUserBookings(USER_ID, BookingWindow.future(now), BookingCursor.FIRST, PAGE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findAllUserPastBookings() {
+        return bookingDbStorage.findAllUserBookings(USER_ID, BookingWindow.past(now), BookingCursor.FIRST, PAGE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findAllCurrentUserBookings() {
+        return bookingDbStorage.findAllUserBookings(USER_ID, BookingWindow.current(now), BookingCursor.FIRST, PAGE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findAllUserBookingsByStatus() {
+        return bookingDbStorage.findAllUserBookings(USER_ID, WAITING, BookingCursor.FIRST, PAGE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findAllOwnerBookings() {
+        return bookingDbStorage.findAllOwnerBookings(USER_ID, BookingWindow.ANY, BookingCursor.FIRST, PAGE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findAllOwnerFutureBookings() {
+        return bookingDbStorage.findAllOwnerBookings(USER_ID, BookingWindow.future(now), BookingCursor.FIRST, PAGE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findAllOwnerPastBookings() {
+        return bookingDbStorage.findAllOwnerBookings(USER_ID, BookingWindow.past(now), BookingCursor.FIRST, PAGE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findAllOwnerCurrentBookings() {
+        return bookingDbStorage.findAllOwnerBookings(USER_ID, BookingWindow.current(now), BookingCursor.FIRST, PAGE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findAllOwnerBookingsByStatus() {
+        return bookingDbStorage.findAllOwnerBookings(USER_ID, WAITING, BookingCursor.FIRST, PAGE);
+    }
+
+    @Benchmark
+    public BookingStateCounts countUserBookings() {
+        return bookingDbStorage.countUserBookings(USER_ID, now, BookingStatus.WAITING, BookingStatus.REJECTED);
+    }
+
+    @Benchmark
+    public BookingStateCounts countOwnerBookings() {
+        return bookingDbStorage.countOwnerBookings(USER_ID, now, BookingStatus.WAITING, BookingStatus.REJECTED);
+    }
+
+    @Benchmark
+    public List<Booking> findItemsNextBookings() {
+        return bookingDbStorage.findItemsNextBookings(ownerItemIds, now, BookingStatus.REJECTED);
+    }
+
+    @Benchmark
+    public List<Booking> findItemsLastBookings() {
+        return bookingDbStorage.findItemsLastBookings(ownerItemIds, now, BookingStatus.REJECTED);
+    }
+
+    @Benchmark
+    public boolean existsActiveBooking() {
+        return bookingDbStorage.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(ownerItemIds.get(0),
+                Arrays.asList(BookingStatus.WAITING, BookingStatus.APPROVED), now.plusDays(1), now);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BulkInsertBenchmark {
+    private static final int ITEM_BATCH_SIZE = 500;
+    private static final int BOOKING_BATCH_SIZE = 100;
+
+    private ItemService itemService;
+    private BookingService bookingService;
+    private List<ItemDto> items;
+    private List<Long> ownerItemIds;
+    private LocalDateTime bookingStart;
+
+    @Setup
+    public void setUp(SeededDatabase database) {
+        itemService = database.getBean(ItemService.class);
+        bookingService = database.getBean(BookingService.class);
+        items = new ArrayList<>();
+        for (int i = 0; i < ITEM_BATCH_SIZE; i++) {
+            items.add(new ItemDto(null, "item" + i, "description" + i, true, null, null, null, null));
+        }
+        ownerItemIds = database.getOwnerItemIds();
+        bookingStart = database.getNow().plusYears(200);
+    }
+
+    @Benchmark
+    public void addItems() {
+        itemService.addAll(SeededDatabase.USER_ID, items);
+    }
+
+    @Benchmark
+    public List<BookingBatchResult> addBookings() {
+        List<BookingDtoIn> bookings = new ArrayList<>(BOOKING_BATCH_SIZE);
+        for (int i = 0; i < BOOKING_BATCH_SIZE; i++) {
+            LocalDateTime start = bookingStart.plusHours(i / ownerItemIds.size());
+            Long itemId = ownerItemIds.get(i % ownerItemIds.size());
+            bookings.add(new BookingDtoIn(null, start, start.plusMinutes(30), itemId, null, null));
+        }
+        bookingStart = bookingStart.plusHours(BOOKING_BATCH_SIZE / ownerItemIds.size() + 1);
+        return bookingService.addAll(SeededDatabase.REQUESTOR_ID, bookings);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.bench;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DataSeeder {
+    private static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike"};
+
+    private final int bookings;
+    private final int users;
+    private final int items;
+    private final int requests;
+    private final int comments;
+    private final LocalDateTime now;
+
+    public DataSeeder(int bookings, LocalDateTime now) {
+        this.bookings = bookings;
+        this.users = Math.max(bookings / 100, 100);
+        this.items = Math.max(bookings / 10, users);
+        this.requests = items;
+        this.comments = items;
+        this.now = now;
+    }
+
+    public void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO users (user_id, name, email) " +
+                "SELECT x, 'user' || x, 'user' || x || '@bench.ru' FROM SYSTEM_RANGE(1, ?)", users);
+        jdbc.update("INSERT INTO requests (request_id, description, requestor_id, created) " +
+                "SELECT x, 'request' || x, MOD(x, ?) + 1, DATEADD('MINUTE', x - ?, CAST(? AS TIMESTAMP)) " +
+                "FROM SYSTEM_RANGE(1, ?)", users, requests, now, requests);
+        jdbc.update("INSERT INTO items (item_id, name, description, available, owner_id, request_id) " +
+                "SELECT x, " + wordOf("x") + " || ' ' || x, 'description ' || x, TRUE, MOD(x, ?) + 1, " +
+                "CASE WHEN MOD(x, 4) = 0 THEN MOD(x, ?) + 1 END FROM SYSTEM_RANGE(1, ?)", users, requests, items);
+        jdbc.update("INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT x, DATEADD('HOUR', x - ?, CAST(? AS TIMESTAMP)), " +
+                "DATEADD('HOUR', x - ? + 2, CAST(? AS TIMESTAMP)), MOD(x, ?) + 1, MOD(x * 7 + 1, ?) + 1, " +
+                "CASE MOD(x, 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END " +
+                "FROM SYSTEM_RANGE(1, ?)",
+                bookings / 2, now, bookings / 2, now, items, users, bookings);
+        jdbc.update("INSERT INTO comments (comment_id, text, item, author, created) " +
+                "SELECT x, 'comment' || x, MOD(x, ?) + 1, MOD(x * 3, ?) + 1, " +
+                "DATEADD('MINUTE', x - ?, CAST(? AS TIMESTAMP)) FROM SYSTEM_RANGE(1, ?)",
+                items, users, comments, now, comments);
+        seedBookingSummaries(jdbc);
+
+        restart(jdbc, "users_seq", users);
+        restart(jdbc, "requests_seq", requests);
+        restart(jdbc, "items_seq", items);
+        restart(jdbc, "bookings_seq", bookings);
+        restart(jdbc, "comments_seq", comments);
+        jdbc.execute("ANALYZE");
+    }
+
+    public List<Long> getOwnerItemIds(long ownerId) {
+        List<Long> itemIds = new ArrayList<>();
+        for (long itemId = ownerId == 1 ? users : ownerId - 1; itemId <= items; itemId += users) {
+            itemIds.add(itemId);
+        }
+        return itemIds;
+    }
+
+    public String getItemName(long itemId) {
+        return WORDS[(int) (itemId % WORDS.length)] + " " + itemId;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getItems() {
+        return items;
+    }
+
+    public LocalDateTime getNow() {
+        return now;
+    }
+
+    private String wordOf(String column) {
+        StringBuilder sql = new StringBuilder("CASE MOD(").append(column).append(", ").append(WORDS.length).append(')');
+        for (int i = 0; i < WORDS.length; i++) {
+            sql.append(" WHEN ").append(i).append(" THEN '").append(WORDS[i]).append('\'');
+        }
+        return sql.append(" END").toString();
+    }
+
+    // Тот же пересчёт, что и в миграции V9: сводки строятся относительно текущего времени
+    private void seedBookingSummaries(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO item_booking_summary (item_id, " +
+                "last_booking_id, last_start_date, last_end_date, last_booker_id, last_status, " +
+                "next_booking_id, next_start_date, next_end_date, next_booker_id, next_status, roll_at) " +
+                "SELECT i.item_id, lb.booking_id, lb.start_date, lb.end_date, lb.booker_id, lb.status, " +
+                "nb.booking_id, nb.start_date, nb.end_date, nb.booker_id, nb.status, nb.start_date " +
+                "FROM items AS i " +
+                "LEFT JOIN bookings AS lb ON lb.booking_id = (SELECT b.booking_id FROM bookings AS b " +
+                "WHERE b.item_id = i.item_id AND b.status <> 'REJECTED' AND b.start_date <= LOCALTIMESTAMP " +
+                "ORDER BY b.end_date DESC, b.booking_id LIMIT 1) " +
+                "LEFT JOIN bookings AS nb ON nb.booking_id = (SELECT b.booking_id FROM bookings AS b " +
+                "WHERE b.item_id = i.item_id AND b.status <> 'REJECTED' AND b.start_date > LOCALTIMESTAMP " +
+                "ORDER BY b.start_date, b.booking_id LIMIT 1) " +
+                "WHERE lb.booking_id IS NOT NULL OR nb.booking_id IS NOT NULL");
+    }
+
+    private void restart(JdbcTemplate jdbc, String sequence, long seeded) {
+        jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (seeded + 1));
+    }
+}
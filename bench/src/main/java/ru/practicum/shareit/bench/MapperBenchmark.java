@@ -0,0 +1,97 @@
+package ru.practicum.shareit.bench;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.ItemBooking;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.mapper.CommentMapper;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MapperBenchmark {
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+    private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+    private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
+
+    private User user;
+    private Item item;
+    private Booking booking;
+    private BookingDtoIn bookingDtoIn;
+    private ItemDto itemDto;
+    private Comment comment;
+    private CommentDto commentDto;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 12, 0);
+        User owner = new User(1L, "owner", "owner@bench.ru");
+        user = new User(2L, "booker", "booker@bench.ru");
+        item = new Item(1L, "Дрель", "Простая дрель", true, owner, 1L);
+        booking = new Booking(1L, start, start.plusDays(1), item, user, BookingStatus.APPROVED);
+        bookingDtoIn = new BookingDtoIn(null, start, start.plusDays(1), 1L, 2L, BookingStatus.WAITING);
+        itemDto = new ItemDto(null, "Дрель", "Простая дрель", true, null, null, null, 1L);
+        comment = new Comment(1L, "Хорошая дрель", item, user, start.plusDays(2));
+        commentDto = new CommentDto(null, "Хорошая дрель", null, start.plusDays(2));
+    }
+
+    @Benchmark
+    public BookingDtoOut bookingToDtoOut() {
+        return bookingMapper.toDtoOut(booking);
+    }
+
+    @Benchmark
+    public ItemBooking bookingToItemBooking() {
+        return bookingMapper.toItemBooking(booking);
+    }
+
+    @Benchmark
+    public Booking bookingToEntity() {
+        return bookingMapper.toEntity(bookingDtoIn);
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return itemMapper.toDto(item);
+    }
+
+    @Benchmark
+    public Item itemToEntity() {
+        return itemMapper.toEntity(itemDto);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return commentMapper.toDto(comment);
+    }
+
+    @Benchmark
+    public Comment commentToEntity() {
+        return commentMapper.toEntity(commentDto, item, user);
+    }
+}
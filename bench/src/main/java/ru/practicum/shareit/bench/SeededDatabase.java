@@ -0,0 +1,59 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class SeededDatabase {
+    public static final long USER_ID = 1;
+    public static final long REQUESTOR_ID = 2;
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private DataSeeder seeder;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("ci")
+                .properties("spring.main.banner-mode=off",
+                        "logging.level.root=warn",
+                        "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        seeder = new DataSeeder(rows, LocalDate.now().atStartOfDay());
+        seeder.seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public LocalDateTime getNow() {
+        return seeder.getNow();
+    }
+
+    public List<Long> getOwnerItemIds() {
+        return seeder.getOwnerItemIds(USER_ID);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private ItemService itemService;
+    private ItemRequestService itemRequestService;
+
+    @Setup
+    public void setUp(SeededDatabase database) {
+        itemService = database.getBean(ItemService.class);
+        itemRequestService = database.getBean(ItemRequestService.class);
+    }
+
+    @Benchmark
+    public Slice<ItemDto> getAllUserItems() {
+        return itemService.getAllUserItems(SeededDatabase.USER_ID, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Slice<ItemRequestDto> getAllRequests() {
+        return itemRequestService.getAllRequests(SeededDatabase.USER_ID, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getUserRequests() {
+        return itemRequestService.getUserRequests(SeededDatabase.REQUESTOR_ID);
+    }
+}
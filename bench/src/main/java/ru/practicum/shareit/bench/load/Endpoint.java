@@ -0,0 +1,49 @@
+package ru.practicum.shareit.bench.load;
+
+import ru.practicum.shareit.bench.DataSeeder;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+public enum Endpoint {
+    USER_BOOKINGS("GET /bookings") {
+        @Override
+        String path(SplittableRandom random, DataSeeder seeder) {
+            return "/bookings?size=20&state=" + STATES[random.nextInt(STATES.length)];
+        }
+    },
+    OWNER_BOOKINGS("GET /bookings/owner") {
+        @Override
+        String path(SplittableRandom random, DataSeeder seeder) {
+            return "/bookings/owner?size=20&state=" + STATES[random.nextInt(STATES.length)];
+        }
+    },
+    ITEM_SEARCH("GET /items/search") {
+        @Override
+        String path(SplittableRandom random, DataSeeder seeder) {
+            String text = seeder.getItemName(random.nextInt(seeder.getItems()) + 1);
+            return "/items/search?size=20&text=" + URLEncoder.encode(text, StandardCharsets.UTF_8);
+        }
+    },
+    ALL_REQUESTS("GET /requests/all") {
+        @Override
+        String path(SplittableRandom random, DataSeeder seeder) {
+            return "/requests/all?from=0&size=20";
+        }
+    };
+
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final String title;
+
+    Endpoint(String title) {
+        this.title = title;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    abstract String path(SplittableRandom random, DataSeeder seeder);
+}
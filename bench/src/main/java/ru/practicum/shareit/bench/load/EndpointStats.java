@@ -0,0 +1,38 @@
+package ru.practicum.shareit.bench.load;
+
+import org.HdrHistogram.Histogram;
+
+class EndpointStats {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram latencies = new Histogram(SIGNIFICANT_DIGITS);
+    private long errors;
+
+    void record(long latencyMicros, boolean error) {
+        latencies.recordValue(latencyMicros);
+        if (error) {
+            errors++;
+        }
+    }
+
+    void add(EndpointStats other) {
+        latencies.add(other.latencies);
+        errors += other.errors;
+    }
+
+    long getRequests() {
+        return latencies.getTotalCount();
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    double getPercentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double getMaxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.bench.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LoadReport {
+    private static final String ROW_FORMAT = "%-22s %10s %8s %10s %9s %9s %9s %9s %8s%n";
+
+    private final int rows;
+    private final int concurrency;
+    private final long durationSeconds;
+    private final List<Row> endpoints = new ArrayList<>();
+    private Row total;
+
+    public LoadReport(int rows, int concurrency, Duration duration) {
+        this.rows = rows;
+        this.concurrency = concurrency;
+        this.durationSeconds = duration.getSeconds();
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public List<Row> getEndpoints() {
+        return endpoints;
+    }
+
+    public Row getTotal() {
+        return total;
+    }
+
+    void add(Row row) {
+        endpoints.add(row);
+    }
+
+    void setTotal(Row total) {
+        this.total = total;
+    }
+
+    void print(PrintStream out) {
+        out.printf("rows=%d concurrency=%d duration=%ds%n", rows, concurrency, durationSeconds);
+        out.printf(ROW_FORMAT, "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms",
+                "sql/req");
+        for (Row row : endpoints) {
+            print(out, row);
+        }
+        print(out, total);
+    }
+
+    List<String> check(LoadTestOptions options) {
+        List<String> violations = new ArrayList<>();
+        Double maxP99 = options.getMaxP99Millis();
+        if (maxP99 != null && total.getP99Ms() > maxP99) {
+            violations.add(String.format("p99 %.2f ms > %.2f ms", total.getP99Ms(), maxP99));
+        }
+        Double maxSql = options.getMaxSqlPerRequest();
+        for (Row row : endpoints) {
+            if (maxSql != null && row.getSqlPerRequest() > maxSql) {
+                violations.add(String.format("%s: %.2f sql/req > %.2f", row.getEndpoint(), row.getSqlPerRequest(),
+                        maxSql));
+            }
+        }
+        Double maxErrorRate = options.getMaxErrorRate();
+        double errorRate = total.getRequests() == 0 ? 1 : (double) total.getErrors() / total.getRequests();
+        if (maxErrorRate != null && errorRate > maxErrorRate) {
+            violations.add(String.format("error rate %.4f > %.4f", errorRate, maxErrorRate));
+        }
+        return violations;
+    }
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+    }
+
+    private void print(PrintStream out, Row row) {
+        out.printf(ROW_FORMAT, row.getEndpoint(), row.getRequests(), row.getErrors(),
+                String.format("%.1f", row.getThroughput()),
+                String.format("%.2f", row.getP50Ms()),
+                String.format("%.2f", row.getP99Ms()),
+                String.format("%.2f", row.getP999Ms()),
+                String.format("%.2f", row.getMaxMs()),
+                String.format("%.2f", row.getSqlPerRequest()));
+    }
+
+    public static class Row {
+        private final String endpoint;
+        private final long requests;
+        private final long errors;
+        private final double throughput;
+        private final double p50Ms;
+        private final double p99Ms;
+        private final double p999Ms;
+        private final double maxMs;
+        private final double sqlPerRequest;
+
+        Row(String endpoint, EndpointStats stats, Duration duration, double sqlPerRequest) {
+            this.endpoint = endpoint;
+            this.requests = stats.getRequests();
+            this.errors = stats.getErrors();
+            this.throughput = stats.getRequests() * 1000.0 / duration.toMillis();
+            this.p50Ms = stats.getPercentileMillis(50);
+            this.p99Ms = stats.getPercentileMillis(99);
+            this.p999Ms = stats.getPercentileMillis(99.9);
+            this.maxMs = stats.getMaxMillis();
+            this.sqlPerRequest = sqlPerRequest;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getP50Ms() {
+            return p50Ms;
+        }
+
+        public double getP99Ms() {
+            return p99Ms;
+        }
+
+        public double getP999Ms() {
+            return p999Ms;
+        }
+
+        public double getMaxMs() {
+            return maxMs;
+        }
+
+        public double getSqlPerRequest() {
+            return sqlPerRequest;
+        }
+    }
+}
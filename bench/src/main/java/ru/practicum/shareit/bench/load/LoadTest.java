@@ -0,0 +1,197 @@
+package ru.practicum.shareit.bench.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import ru.practicum.shareit.bench.DataSeeder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LoadTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String DATABASE = "shareit";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final DataSeeder seeder;
+    private final URI gateway;
+
+    public LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        this.seeder = new DataSeeder(options.getRows(), LocalDate.now().atStartOfDay());
+        this.gateway = URI.create("http://localhost:" + options.getGatewayPort());
+
+        Map<Endpoint, Integer> mix = options.getMix();
+        this.endpoints = mix.keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += mix.get(endpoints[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> violations = new LoadTest(new LoadTestOptions(args)).run();
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.err.println("FAILED: " + violation));
+            System.exit(1);
+        }
+    }
+
+    public List<String> run() throws Exception {
+        Path workDir = options.getWorkDir().toAbsolutePath();
+        Files.createDirectories(workDir);
+        Files.deleteIfExists(workDir.resolve(DATABASE + ".mv.db"));
+        Files.deleteIfExists(workDir.resolve(DATABASE + ".trace.db"));
+        String jdbcUrl = "jdbc:h2:file:" + workDir.resolve(DATABASE) + ";AUTO_SERVER=TRUE";
+
+        Map<String, String> serverProperties = new LinkedHashMap<>();
+        serverProperties.put("spring.profiles.active", "ci");
+        serverProperties.put("spring.datasource.url", jdbcUrl);
+        Map<String, String> gatewayProperties = new LinkedHashMap<>();
+        gatewayProperties.put("shareit-server.url", "http://localhost:" + options.getServerPort());
+
+        try (ServiceProcess server = ServiceProcess.start("server", options.getServerJar(), options.getJvmArgs(),
+                options.getServerPort(), workDir.resolve("server.log"), serverProperties)) {
+            server.awaitHealthy(client);
+            SingleConnectionDataSource dataSource = new SingleConnectionDataSource(jdbcUrl, "test", "test", true);
+            try {
+                JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+                long seedStart = System.nanoTime();
+                seeder.seed(jdbc);
+                System.out.printf("seeded %d bookings in %d ms%n", options.getRows(),
+                        Duration.ofNanos(System.nanoTime() - seedStart).toMillis());
+
+                try (ServiceProcess gatewayProcess = ServiceProcess.start("gateway", options.getGatewayJar(),
+                        options.getJvmArgs(), options.getGatewayPort(), workDir.resolve("gateway.log"),
+                        gatewayProperties)) {
+                    gatewayProcess.awaitHealthy(client);
+                    LoadReport report = measure(new QueryStatistics(jdbc));
+                    report.print(System.out);
+                    report.write(options.getReport());
+                    return report.check(options);
+                }
+            } finally {
+                dataSource.destroy();
+            }
+        }
+    }
+
+    private LoadReport measure(QueryStatistics statistics) throws Exception {
+        long start = System.nanoTime();
+        long measureStart = start + options.getWarmup().toNanos();
+        long measureEnd = measureStart + options.getDuration().toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.getConcurrency());
+        List<Future<Map<Endpoint, EndpointStats>>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < options.getConcurrency(); i++) {
+                SplittableRandom random = new SplittableRandom(options.getSeed() + i);
+                workers.add(executor.submit(() -> drive(random, measureStart, measureEnd)));
+            }
+            sleepUntil(measureStart);
+            statistics.reset();
+
+            Map<Endpoint, EndpointStats> merged = new EnumMap<>(Endpoint.class);
+            for (Future<Map<Endpoint, EndpointStats>> worker : workers) {
+                worker.get().forEach((endpoint, stats) ->
+                        merged.computeIfAbsent(endpoint, key -> new EndpointStats()).add(stats));
+            }
+            long executions = statistics.getExecutions();
+
+            LoadReport report = new LoadReport(options.getRows(), options.getConcurrency(), options.getDuration());
+            EndpointStats total = new EndpointStats();
+            for (Map.Entry<Endpoint, EndpointStats> entry : merged.entrySet()) {
+                total.add(entry.getValue());
+                report.add(new LoadReport.Row(entry.getKey().getTitle(), entry.getValue(), options.getDuration(),
+                        probe(entry.getKey(), statistics)));
+            }
+            report.setTotal(new LoadReport.Row("TOTAL", total, options.getDuration(),
+                    total.getRequests() == 0 ? 0 : (double) executions / total.getRequests()));
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Endpoint, EndpointStats> drive(SplittableRandom random, long measureStart, long measureEnd) {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        long now = System.nanoTime();
+        while (now < measureEnd) {
+            Endpoint endpoint = next(random);
+            boolean error = !send(endpoint, random);
+            long finished = System.nanoTime();
+            if (now >= measureStart) {
+                stats.computeIfAbsent(endpoint, key -> new EndpointStats())
+                        .record((finished - now) / 1000, error);
+            }
+            now = finished;
+        }
+        return stats;
+    }
+
+    private double probe(Endpoint endpoint, QueryStatistics statistics) {
+        SplittableRandom random = new SplittableRandom(options.getSeed());
+        statistics.reset();
+        for (int i = 0; i < options.getProbeRequests(); i++) {
+            send(endpoint, random);
+        }
+        return (double) statistics.getExecutions() / options.getProbeRequests();
+    }
+
+    private boolean send(Endpoint endpoint, SplittableRandom random) {
+        HttpRequest request = HttpRequest.newBuilder(gateway.resolve(endpoint.path(random, seeder)))
+                .header(USER_ID_HEADER, String.valueOf(random.nextInt(seeder.getUsers()) + 1))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Endpoint next(SplittableRandom random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (point >= cumulativeWeights[index]) {
+            index++;
+        }
+        return endpoints[index];
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            Thread.sleep(Duration.ofNanos(remaining).toMillis());
+        }
+    }
+}
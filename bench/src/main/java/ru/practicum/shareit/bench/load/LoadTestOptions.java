@@ -0,0 +1,107 @@
+package ru.practicum.shareit.bench.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+public class LoadTestOptions {
+    private static final String PREFIX = "--";
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public LoadTestOptions(String[] args) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith(PREFIX) || separator < 0) {
+                throw new IllegalArgumentException("Ожидался аргумент вида --name=value: " + arg);
+            }
+            values.put(arg.substring(PREFIX.length(), separator), arg.substring(separator + 1));
+        }
+    }
+
+    public Path getServerJar() {
+        return Paths.get(get("server-jar", "server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar"));
+    }
+
+    public Path getGatewayJar() {
+        return Paths.get(get("gateway-jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"));
+    }
+
+    public Path getWorkDir() {
+        return Paths.get(get("work-dir", "bench/target/load"));
+    }
+
+    public int getServerPort() {
+        return Integer.parseInt(get("server-port", "19090"));
+    }
+
+    public int getGatewayPort() {
+        return Integer.parseInt(get("gateway-port", "18080"));
+    }
+
+    public String getJvmArgs() {
+        return get("jvm-args", "-Xms1g -Xmx1g");
+    }
+
+    public int getRows() {
+        return Integer.parseInt(get("rows", "100000"));
+    }
+
+    public int getConcurrency() {
+        return Integer.parseInt(get("concurrency", "16"));
+    }
+
+    public Duration getWarmup() {
+        return Duration.ofSeconds(Long.parseLong(get("warmup", "30")));
+    }
+
+    public Duration getDuration() {
+        return Duration.ofSeconds(Long.parseLong(get("duration", "60")));
+    }
+
+    public int getProbeRequests() {
+        return Integer.parseInt(get("probe-requests", "100"));
+    }
+
+    public long getSeed() {
+        return Long.parseLong(get("seed", "42"));
+    }
+
+    public Map<Endpoint, Integer> getMix() {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : get("mix", "USER_BOOKINGS:30,OWNER_BOOKINGS:25,ITEM_SEARCH:25,ALL_REQUESTS:20")
+                .split(",")) {
+            String[] weight = part.trim().split(":");
+            mix.put(Endpoint.valueOf(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    public Path getReport() {
+        return Paths.get(get("report", "bench/target/load-report.json"));
+    }
+
+    public Double getMaxP99Millis() {
+        return getDouble("max-p99-ms");
+    }
+
+    public Double getMaxSqlPerRequest() {
+        return getDouble("max-sql-per-request");
+    }
+
+    public Double getMaxErrorRate() {
+        return getDouble("max-error-rate");
+    }
+
+    private Double getDouble(String name) {
+        String value = values.get(name);
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    private String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+}
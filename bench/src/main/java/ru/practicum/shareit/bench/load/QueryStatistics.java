@@ -0,0 +1,24 @@
+package ru.practicum.shareit.bench.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class QueryStatistics {
+    private final JdbcTemplate jdbc;
+
+    public QueryStatistics(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        jdbc.execute("SET QUERY_STATISTICS_MAX_ENTRIES 10000");
+    }
+
+    public void reset() {
+        jdbc.execute("SET QUERY_STATISTICS FALSE");
+        jdbc.execute("SET QUERY_STATISTICS TRUE");
+    }
+
+    public long getExecutions() {
+        Long executions = jdbc.queryForObject("SELECT COALESCE(SUM(EXECUTION_COUNT), 0) " +
+                "FROM INFORMATION_SCHEMA.QUERY_STATISTICS " +
+                "WHERE SQL_STATEMENT NOT LIKE '%QUERY_STATISTICS%'", Long.class);
+        return executions == null ? 0 : executions;
+    }
+}
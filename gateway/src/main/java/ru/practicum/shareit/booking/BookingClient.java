@@ -1,62 +1,87 @@
 package ru.practicum.shareit.booking;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
 
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ProxiedBody;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getAllUserBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<ProxiedBody>> getAllUserBookings(long userId, BookingState state, Integer from, Integer size,
+                                                     @Nullable String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get("?state={state}&from={from}&size={size}" + afterParameter(parameters, after), userId, parameters);
     }
 
 
-    public ResponseEntity<Object> add(long userId, BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<ProxiedBody>> add(long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<ProxiedBody>> addAll(long userId, List<BookItemRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public Mono<ResponseEntity<ProxiedBody>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> changeBookingStatus(long userId, Long bookingId, boolean approved) {
+    public Mono<ResponseEntity<ProxiedBody>> changeBookingStatus(long userId, Long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllOwnerBookings(long ownerId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<ProxiedBody>> getAllOwnerBookings(long ownerId, BookingState state, Integer from, Integer size,
+                                                      @Nullable String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+        ));
+        return get("/owner?state={state}&from={from}&size={size}" + afterParameter(parameters, after), ownerId,
+                parameters);
+    }
+
+    public Mono<ResponseEntity<ProxiedBody>> countUserBookings(long userId) {
+        return get("/stats", userId);
+    }
+
+    public Mono<ResponseEntity<ProxiedBody>> countOwnerBookings(long ownerId) {
+        return get("/owner/stats", ownerId);
+    }
+
+    private static String afterParameter(Map<String, Object> parameters, @Nullable String after) {
+        if (after == null) {
+            return "";
+        }
+        parameters.put("after", after);
+        return "&after={after}";
     }
 }
@@ -7,16 +7,25 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import javax.validation.ValidationException;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+
+import java.util.List;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ProxiedBody;
 import ru.practicum.shareit.util.ApiPathConstants;
+import ru.practicum.shareit.util.PageConstants;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -24,21 +33,26 @@ import ru.practicum.shareit.util.ApiPathConstants;
 @Slf4j
 @Validated
 public class BookingController {
+	private static final String CURSOR_PATTERN = "^\\d{4}-\\d{2}-\\d{2}T[\\d:.]+,\\d+$";
+	private static final int MAX_BATCH_SIZE = 100;
+
 	private final BookingClient bookingClient;
 
 	@GetMapping
-	public ResponseEntity<Object> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+	public Mono<ResponseEntity<ProxiedBody>> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+			@Positive @Max(PageConstants.MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size,
+			@Pattern(regexp = CURSOR_PATTERN) @RequestParam(required = false) String after) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getAllUserBookings(userId, state, from, size);
+		log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", stateParam, userId, from, size,
+				after);
+		return bookingClient.getAllUserBookings(userId, state, from, size, after);
 	}
 
 	@PatchMapping(ApiPathConstants.BY_ID_PATH)
-	public ResponseEntity<Object> changeBookingStatus(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
+	public Mono<ResponseEntity<ProxiedBody>> changeBookingStatus(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
 											 @PathVariable Long id,
 											 @RequestParam boolean approved) {
 		log.info("Change Booking Status userId={}, bookingId={}, approved={}", userId, id, approved);
@@ -46,36 +60,64 @@ public class BookingController {
 	}
 
 	@PostMapping
-	public ResponseEntity<Object> add(@RequestHeader("X-Sharer-User-Id") long userId,
+	public Mono<ResponseEntity<ProxiedBody>> add(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestBody @Valid BookItemRequestDto requestDto) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
-		if (requestDto.getStart().isAfter(requestDto.getEnd())) {
-			throw new ValidationException("Booking: Дата начала не может быть позже даты конца бронирования");
-		}
-		if (requestDto.getEnd().isBefore(requestDto.getStart())) {
-			throw new ValidationException("Booking: Дата окончания не может быть раньше даты начала бронирования");
-		}
-		if (requestDto.getEnd().equals(requestDto.getStart())) {
-			throw new ValidationException("Booking: Даты не могут совпадать");
-		}
+		validateDates(requestDto);
 		return bookingClient.add(userId, requestDto);
 	}
 
+	@PostMapping(ApiPathConstants.BATCH_PATH)
+	public Mono<ResponseEntity<ProxiedBody>> addAll(@RequestHeader("X-Sharer-User-Id") long userId,
+			@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid @NotNull BookItemRequestDto> requestDtos) {
+		log.info("Creating {} bookings, userId={}", requestDtos.size(), userId);
+		requestDtos.forEach(BookingController::validateDates);
+		return bookingClient.addAll(userId, requestDtos);
+	}
+
 	@GetMapping(ApiPathConstants.BY_ID_PATH)
-	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+	public Mono<ResponseEntity<ProxiedBody>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
 			@PathVariable Long id) {
 		log.info("Get booking {}, userId={}", id, userId);
 		return bookingClient.getBooking(userId, id);
 	}
 
 	@GetMapping(ApiPathConstants.OWNER_PATH)
-	public ResponseEntity<Object> getAllOwnerBookings(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
+	public Mono<ResponseEntity<ProxiedBody>> getAllOwnerBookings(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
 												   @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
 												   @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-												   @Positive @RequestParam(defaultValue = "20") Integer size) {
+												   @Positive @Max(PageConstants.MAX_PAGE_SIZE)
+												   @RequestParam(defaultValue = "20") Integer size,
+												   @Pattern(regexp = CURSOR_PATTERN)
+												   @RequestParam(required = false) String after) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getAllOwnerBookings(userId, state, from, size);
+		log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", stateParam, userId, from, size,
+				after);
+		return bookingClient.getAllOwnerBookings(userId, state, from, size, after);
+	}
+
+	@GetMapping(ApiPathConstants.STATS_PATH)
+	public Mono<ResponseEntity<ProxiedBody>> countUserBookings(@RequestHeader("X-Sharer-User-Id") long userId) {
+		log.info("Count bookings by state, userId={}", userId);
+		return bookingClient.countUserBookings(userId);
+	}
+
+	@GetMapping(ApiPathConstants.OWNER_STATS_PATH)
+	public Mono<ResponseEntity<ProxiedBody>> countOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId) {
+		log.info("Count owner bookings by state, userId={}", userId);
+		return bookingClient.countOwnerBookings(userId);
+	}
+
+	private static void validateDates(BookItemRequestDto requestDto) {
+		if (requestDto.getStart().isAfter(requestDto.getEnd())) {
+			throw new ValidationException("Booking: Дата начала не может быть позже даты конца бронирования");
+		}
+		if (requestDto.getEnd().isBefore(requestDto.getStart())) {
+			throw new ValidationException("Booking: Дата окончания не может быть раньше даты начала бронирования");
+		}
+		if (requestDto.getEnd().equals(requestDto.getStart())) {
+			throw new ValidationException("Booking: Даты не могут совпадать");
+		}
 	}
 }
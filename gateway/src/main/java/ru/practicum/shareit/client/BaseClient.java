@@ -1,129 +1,179 @@
 package ru.practicum.shareit.client;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.http.HttpEntity;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(
+            HttpHeaders.CONNECTION,
+            "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONTENT_LENGTH
+    );
+    private static final int MAX_BUFFERED_BODY_SIZE = 256 * 1024;
+
+    protected final WebClient client;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(WebClient client) {
+        this.client = client;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<ProxiedBody>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<ProxiedBody>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<ProxiedBody>> get(String path, @Nullable Map<String, Object> parameters) {
         return get(path, null, parameters);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<ProxiedBody>> get(String path, Long userId,
+                                                    @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<ProxiedBody>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<ProxiedBody>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<ProxiedBody>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<ProxiedBody>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<ProxiedBody>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<ProxiedBody>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<ProxiedBody>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, @Nullable Map<String, Object> parameters) {
+    protected <T> Mono<ResponseEntity<ProxiedBody>> patch(String path, long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<ProxiedBody>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<ProxiedBody>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<ProxiedBody>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<ProxiedBody>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<ProxiedBody>> delete(String path, Long userId,
+                                                       @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    protected Mono<ResponseEntity<ProxiedBody>> upload(String path, long userId, MediaType contentType,
+                                                       Flux<DataBuffer> body, Duration timeout) {
+        return forward(client.post()
+                .uri(path)
+                .headers(headers -> defaultHeaders(headers, userId))
+                .httpRequest(request -> responseTimeout(request, timeout))
+                .contentType(contentType)
+                .body(body, DataBuffer.class));
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
-        return prepareGatewayResponse(shareitServerResponse);
+    protected Mono<ResponseEntity<ProxiedBody>> download(String path, long userId, MediaType accept,
+                                                         Duration timeout) {
+        return forward(client.get()
+                .uri(path)
+                .headers(headers -> defaultHeaders(headers, userId))
+                .httpRequest(request -> responseTimeout(request, timeout))
+                .accept(accept, MediaType.APPLICATION_JSON));
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
-        HttpHeaders headers = new HttpHeaders();
+    private <T> Mono<ResponseEntity<ProxiedBody>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = client.method(method)
+                .uri(path, parameters != null ? parameters : Collections.emptyMap())
+                .headers(headers -> defaultHeaders(headers, userId));
+
+        WebClient.RequestHeadersSpec<?> shareitServerRequest = body != null ? request.bodyValue(body) : request;
+        return forward(shareitServerRequest);
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
-        return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
+    private static Mono<ResponseEntity<ProxiedBody>> forward(WebClient.RequestHeadersSpec<?> request) {
+        return request.retrieve()
+                .onStatus(HttpStatus::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(BaseClient::prepareGatewayResponse);
+    }
+
+    private static Mono<ResponseEntity<ProxiedBody>> prepareGatewayResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        HttpHeaders headers = withoutHopByHopHeaders(response.getHeaders());
+        Flux<DataBuffer> body = response.getBody() != null ? response.getBody() : Flux.empty();
+        return ProxiedBody.read(body, MAX_BUFFERED_BODY_SIZE)
+                .map(proxiedBody -> {
+                    if (proxiedBody.isBuffered() && proxiedBody.contentLength() == 0) {
+                        return new ResponseEntity<>(headers, response.getStatusCode());
+                    }
+                    if (!proxiedBody.isBuffered()) {
+                        // На условный запрос MVC ответил бы 304, не прочитав потоковое тело,
+                        // и соединение с сервером осталось бы занятым
+                        headers.remove(HttpHeaders.ETAG);
+                        headers.remove(HttpHeaders.LAST_MODIFIED);
+                    }
+                    return new ResponseEntity<>(proxiedBody, headers, response.getStatusCode());
+                });
+    }
+
+    private static HttpHeaders withoutHopByHopHeaders(HttpHeaders responseHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(responseHeaders);
+        HOP_BY_HOP_HEADERS.forEach(headers::remove);
+        return headers;
+    }
 
-        return responseBuilder.build();
+    private static void responseTimeout(ClientHttpRequest request, Duration timeout) {
+        HttpClientRequest nativeRequest = request.getNativeRequest();
+        nativeRequest.responseTimeout(timeout);
     }
 }
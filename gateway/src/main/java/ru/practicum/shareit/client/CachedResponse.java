@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Flux;
+
+@Getter
+@RequiredArgsConstructor
+class CachedResponse {
+    private final HttpStatus status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final String etag;
+
+    int weight() {
+        return body.length + etag.length();
+    }
+
+    ClientResponse toClientResponse() {
+        return ClientResponse.create(status)
+                .headers(responseHeaders -> responseHeaders.addAll(headers))
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public final class ProxiedBody {
+    @Nullable
+    private final byte[] bytes;
+    @Nullable
+    private final Flux<DataBuffer> buffers;
+
+    private ProxiedBody(@Nullable byte[] bytes, @Nullable Flux<DataBuffer> buffers) {
+        this.bytes = bytes;
+        this.buffers = buffers;
+    }
+
+    // Тело не больше maxBufferedSize читается в память, более длинное передаётся клиенту потоком
+    static Mono<ProxiedBody> read(Flux<DataBuffer> body, long maxBufferedSize) {
+        AtomicLong size = new AtomicLong();
+        return body
+                .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxBufferedSize)
+                .switchOnFirst((first, chunks) -> {
+                    if (!first.hasValue()) {
+                        return Mono.just(new ProxiedBody(new byte[0], null));
+                    }
+                    if (size.get() <= maxBufferedSize) {
+                        return Mono.just(new ProxiedBody(toByteArray(first.get()), null));
+                    }
+                    Flux<DataBuffer> rest = chunks.flatMapIterable(Function.identity())
+                            .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+                    return Mono.just(new ProxiedBody(null, rest));
+                }, false)
+                .singleOrEmpty();
+    }
+
+    public boolean isBuffered() {
+        return bytes != null;
+    }
+
+    public long contentLength() {
+        return bytes != null ? bytes.length : -1;
+    }
+
+    byte[] getBytes() {
+        return bytes != null ? bytes : new byte[0];
+    }
+
+    Flux<DataBuffer> asFlux() {
+        if (bytes != null) {
+            return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes));
+        }
+        return buffers != null ? buffers : Flux.empty();
+    }
+
+    public void writeTo(OutputStream output) throws IOException {
+        if (bytes != null) {
+            output.write(bytes);
+        } else if (buffers != null) {
+            DataBufferUtils.write(buffers, output)
+                    .map(DataBufferUtils::release)
+                    .blockLast();
+        }
+    }
+
+    private static byte[] toByteArray(List<DataBuffer> chunks) {
+        int length = chunks.stream().mapToInt(DataBuffer::readableByteCount).sum();
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (DataBuffer chunk : chunks) {
+            int count = chunk.readableByteCount();
+            chunk.read(bytes, offset, count);
+            offset += count;
+            DataBufferUtils.release(chunk);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+
+public class ProxiedBodyHttpMessageConverter extends AbstractHttpMessageConverter<ProxiedBody> {
+    public ProxiedBodyHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProxiedBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ProxiedBody readInternal(Class<? extends ProxiedBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ProxiedBody is write-only", inputMessage);
+    }
+
+    @Override
+    protected void addDefaultHeaders(HttpHeaders headers, ProxiedBody body, @Nullable MediaType contentType)
+            throws IOException {
+        // Тип содержимого приходит от сервера; если его нет, ответ уходит без Content-Type
+        super.addDefaultHeaders(headers, body, contentType != null && contentType.isConcrete() ? contentType : null);
+    }
+
+    @Override
+    protected MediaType getDefaultContentType(ProxiedBody body) {
+        return null;
+    }
+
+    @Override
+    protected Long getContentLength(ProxiedBody body, @Nullable MediaType contentType) {
+        long contentLength = body.contentLength();
+        return contentLength >= 0 ? contentLength : null;
+    }
+
+    @Override
+    protected void writeInternal(ProxiedBody body, HttpOutputMessage outputMessage) throws IOException {
+        body.writeTo(outputMessage.getBody());
+    }
+}
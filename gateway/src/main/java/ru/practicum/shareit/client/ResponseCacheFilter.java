@@ -0,0 +1,154 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ResponseCacheFilter implements ExchangeFilterFunction {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Map<String, Set<String>> AFFECTED_RESOURCES = Map.of(
+            "users", Set.of("users", "items", "bookings", "requests"),
+            "items", Set.of("items", "requests"),
+            "bookings", Set.of("bookings", "items"),
+            "requests", Set.of("requests")
+    );
+
+    private final Cache<CacheKey, CachedResponse> cache;
+    private final Map<String, Set<CacheKey>> keysByResource = new ConcurrentHashMap<>();
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> endpoints;
+    private final long maxEntrySize;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((CacheKey key, CachedResponse response) -> response.weight())
+                .evictionListener((CacheKey key, CachedResponse response, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+        this.endpoints = List.copyOf(properties.getEndpoints());
+        this.maxEntrySize = properties.getMaxEntrySize().toBytes();
+        this.hits = Counter.builder("gateway.response.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("gateway.response.cache.requests").tag("result", "miss").register(registry);
+        Gauge.builder("gateway.response.cache.hit.ratio", this, ResponseCacheFilter::hitRatio).register(registry);
+        CaffeineCacheMetrics.monitor(registry, cache, "gateway.responses");
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (response.statusCode().is2xxSuccessful()) {
+                            invalidate(request.url());
+                        }
+                    });
+        }
+        if (!isCacheable(request.url())) {
+            return next.exchange(request);
+        }
+        CacheKey key = new CacheKey(request.url(), request.headers().getFirst(USER_HEADER));
+        CachedResponse cached = cache.getIfPresent(key);
+        ClientRequest conditionalRequest = cached == null ? request : ClientRequest.from(request)
+                .header(HttpHeaders.IF_NONE_MATCH, cached.getEtag())
+                .build();
+        return next.exchange(conditionalRequest)
+                .flatMap(response -> {
+                    if (cached != null && response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                        hits.increment();
+                        return response.releaseBody()
+                                .thenReturn(cached.toClientResponse());
+                    }
+                    misses.increment();
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    String etag = headers.getETag();
+                    if (response.statusCode() != HttpStatus.OK || etag == null) {
+                        cache.invalidate(key);
+                        unindex(key);
+                        return Mono.just(response);
+                    }
+                    return ProxiedBody.read(response.body(BodyExtractors.toDataBuffers()), maxEntrySize)
+                            .map(body -> {
+                                if (!body.isBuffered()) {
+                                    cache.invalidate(key);
+                                    unindex(key);
+                                    return response.mutate().body(body.asFlux()).build();
+                                }
+                                CachedResponse fresh = new CachedResponse(response.statusCode(), headers,
+                                        body.getBytes(), etag);
+                                keysByResource.computeIfAbsent(resource(key.getUrl()),
+                                        resource -> ConcurrentHashMap.newKeySet()).add(key);
+                                cache.put(key, fresh);
+                                return fresh.toClientResponse();
+                            });
+                });
+    }
+
+    private boolean isCacheable(URI url) {
+        return endpoints.stream()
+                .anyMatch(pattern -> pathMatcher.match(pattern, url.getPath()));
+    }
+
+    private void invalidate(URI url) {
+        for (String resource : AFFECTED_RESOURCES.getOrDefault(resource(url), Collections.emptySet())) {
+            Set<CacheKey> keys = keysByResource.remove(resource);
+            if (keys != null) {
+                cache.invalidateAll(keys);
+            }
+        }
+    }
+
+    private void unindex(CacheKey key) {
+        Set<CacheKey> keys = keysByResource.get(resource(key.getUrl()));
+        if (keys != null) {
+            keys.remove(key);
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static String resource(URI url) {
+        String path = url.getPath();
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class CacheKey {
+        private final URI url;
+        private final String userId;
+    }
+}
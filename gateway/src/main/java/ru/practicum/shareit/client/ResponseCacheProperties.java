@@ -0,0 +1,20 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = false;
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+    private List<String> endpoints = new ArrayList<>(List.of("/items/{id:\\d+}", "/requests/all",
+            "/users/{id:\\d+}"));
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableConfigurationProperties({ServerClientProperties.class, ResponseCacheProperties.class})
+public class ServerClientConfiguration {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(ServerClientProperties properties) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClientCustomizer serverConnectorCustomizer(ConnectionProvider serverConnectionProvider,
+                                                         ServerClientProperties properties,
+                                                         ObjectProvider<ResponseCacheFilter> responseCacheFilter) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout());
+        return builder -> {
+            builder.clientConnector(new ReactorClientHttpConnector(httpClient));
+            responseCacheFilter.ifAvailable(builder::filter);
+        };
+    }
+
+    @Bean
+    public ProxiedBodyHttpMessageConverter proxiedBodyHttpMessageConverter() {
+        return new ProxiedBodyHttpMessageConverter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-server.cache", name = "enabled", havingValue = "true")
+    public ResponseCacheFilter responseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        return new ResponseCacheFilter(properties, meterRegistry);
+    }
+}
@@ -2,40 +2,56 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ProxiedBody;
+import ru.practicum.shareit.client.ServerClientProperties;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.Duration;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final Duration transferTimeout;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ServerClientProperties properties) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
+        this.transferTimeout = properties.getTransferTimeout();
     }
 
-    public ResponseEntity<Object> add(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<ProxiedBody>> add(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> getById(long itemId, long userId) {
+    public Mono<ResponseEntity<ProxiedBody>> importItems(long userId, Flux<DataBuffer> items) {
+        return upload("/import", userId, MediaType.APPLICATION_NDJSON, items, transferTimeout);
+    }
+
+    public Mono<ResponseEntity<ProxiedBody>> exportItems(long userId) {
+        return download("/export", userId, MediaType.APPLICATION_NDJSON, transferTimeout);
+    }
+
+    public Mono<ResponseEntity<ProxiedBody>> getById(long itemId, long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllUserItems(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<ProxiedBody>> getAllUserItems(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -43,7 +59,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItemsByNameOrDescription(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<ProxiedBody>> searchItemsByNameOrDescription(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -52,11 +68,11 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", parameters);
     }
 
-    public ResponseEntity<Object> update(long userId, long itemId, ItemDto itemDto) {
+    public Mono<ResponseEntity<ProxiedBody>> update(long userId, long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> add(long userId, long itemId, CommentDto commentDto) {
+    public Mono<ResponseEntity<ProxiedBody>> add(long userId, long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 }
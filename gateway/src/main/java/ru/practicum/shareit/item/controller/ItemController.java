@@ -2,17 +2,33 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.client.ProxiedBody;
+import ru.practicum.shareit.client.ServerClientProperties;
 import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.exception.EmptyList;
 import ru.practicum.shareit.util.ApiPathConstants;
+import ru.practicum.shareit.util.PageConstants;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
@@ -23,31 +39,70 @@ import javax.validation.constraints.PositiveOrZero;
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
+    private static final int IMPORT_BUFFER_SIZE = 8192;
+
     private final ItemClient itemClient;
+    private final ServerClientProperties properties;
 
     @PostMapping
-    public ResponseEntity<Object> add(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<ProxiedBody>> add(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
                                       @Valid @RequestBody ItemDto itemDto) {
         return itemClient.add(userId, itemDto);
     }
 
+    @PostMapping(path = ApiPathConstants.IMPORT_PATH, consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public DeferredResult<ResponseEntity<ProxiedBody>> importItems(
+            @NotNull @RequestHeader("X-Sharer-User-Id") long userId, HttpServletRequest request) {
+        log.info("Importing items, userId={}", userId);
+        Flux<DataBuffer> items = DataBufferUtils.readInputStream(request::getInputStream,
+                        DefaultDataBufferFactory.sharedInstance, IMPORT_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        DeferredResult<ResponseEntity<ProxiedBody>> result = new DeferredResult<>(transferTimeout());
+        Disposable upload = itemClient.importItems(userId, items)
+                .subscribe(result::setResult, result::setErrorResult);
+        result.onTimeout(upload::dispose);
+        return result;
+    }
+
+    @ResponseBody
+    @GetMapping(path = ApiPathConstants.EXPORT_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportItems(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
+                                          HttpServletResponse response) {
+        log.info("Exporting items, userId={}", userId);
+        // Поток пишется в рамках той же асинхронной обработки, чтобы на него действовал таймаут выгрузки,
+        // а не общий spring.mvc.async.request-timeout
+        return new WebAsyncTask<>(transferTimeout(), () -> {
+            ResponseEntity<ProxiedBody> export = itemClient.exportItems(userId).block();
+            if (export != null) {
+                response.setStatus(export.getStatusCodeValue());
+                export.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+                if (export.getBody() != null) {
+                    export.getBody().writeTo(response.getOutputStream());
+                }
+            }
+            return null;
+        });
+    }
+
     @GetMapping(ApiPathConstants.BY_ID_PATH)
-    public ResponseEntity<Object> getById(@PathVariable long id,
+    public Mono<ResponseEntity<ProxiedBody>> getById(@PathVariable long id,
                                           @NotNull @RequestHeader("X-Sharer-User-Id") long userId) {
         return itemClient.getById(id, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUserItems(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<ProxiedBody>> getAllUserItems(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
                                          @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                         @Positive @RequestParam(defaultValue = "20") Integer size) {
+                                         @Positive @Max(PageConstants.MAX_PAGE_SIZE)
+                                         @RequestParam(defaultValue = "20") Integer size) {
         return itemClient.getAllUserItems(userId, from, size);
     }
 
     @GetMapping(ApiPathConstants.SEARCH_ITEMS_PATH)
-    public ResponseEntity<Object> searchItemsByNameOrDescription(@RequestParam String text,
+    public Mono<ResponseEntity<ProxiedBody>> searchItemsByNameOrDescription(@RequestParam String text,
                                                         @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                        @Positive @RequestParam(defaultValue = "20") Integer size) {
+                                                        @Positive @Max(PageConstants.MAX_PAGE_SIZE)
+                                                        @RequestParam(defaultValue = "20") Integer size) {
         if (text.isEmpty()) {
             throw new EmptyList();
         }
@@ -55,16 +110,20 @@ public class ItemController {
     }
 
     @PatchMapping(ApiPathConstants.BY_ID_PATH)
-    public ResponseEntity<Object> update(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<ProxiedBody>> update(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
                        @PathVariable long id,
                        @RequestBody ItemDto itemDto) {
         return itemClient.update(userId, id, itemDto);
     }
 
     @PostMapping(ApiPathConstants.ADD_COMMENT_PATH)
-    public ResponseEntity<Object> add(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<ProxiedBody>> add(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
                           @PathVariable long id,
                           @Valid @RequestBody CommentDto commentDto) {
         return itemClient.add(userId, id, commentDto);
     }
+
+    private long transferTimeout() {
+        return properties.getTransferTimeout().toMillis();
+    }
 }
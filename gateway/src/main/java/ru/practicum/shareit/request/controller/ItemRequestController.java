@@ -5,11 +5,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ProxiedBody;
 import ru.practicum.shareit.request.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.util.ApiPathConstants;
+import ru.practicum.shareit.util.PageConstants;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
@@ -22,25 +26,26 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> add(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<ProxiedBody>> add(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
                                       @Valid @RequestBody ItemRequestDto itemRequestDto) {
         return itemRequestClient.add(userId, itemRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(@NotNull @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<ProxiedBody>> getUserRequests(@NotNull @RequestHeader("X-Sharer-User-Id") long userId) {
         return itemRequestClient.getUserRequests(userId);
     }
 
     @GetMapping(ApiPathConstants.ALL_PATH)
-    public ResponseEntity<Object> getAllRequests(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<ProxiedBody>> getAllRequests(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
                                                @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                               @Positive @RequestParam(defaultValue = "20") Integer size) {
+                                               @Positive @Max(PageConstants.MAX_PAGE_SIZE)
+                                               @RequestParam(defaultValue = "20") Integer size) {
         return itemRequestClient.getAllRequests(userId, from, size);
     }
 
     @GetMapping(ApiPathConstants.BY_ID_PATH)
-    public ResponseEntity<Object> getById(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<ProxiedBody>> getById(@NotNull @RequestHeader("X-Sharer-User-Id") long userId,
                                           @PathVariable long id) {
         return itemRequestClient.getById(userId, id);
     }
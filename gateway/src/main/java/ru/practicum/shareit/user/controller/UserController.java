@@ -6,6 +6,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ProxiedBody;
 import ru.practicum.shareit.user.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.util.ApiPathConstants;
@@ -21,27 +23,27 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> add(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<ProxiedBody>> add(@Valid @RequestBody UserDto userDto) {
         return userClient.add(userDto);
     }
 
     @GetMapping(ApiPathConstants.BY_ID_PATH)
-    public ResponseEntity<Object> getById(@PathVariable int id) {
+    public Mono<ResponseEntity<ProxiedBody>> getById(@PathVariable int id) {
         return userClient.getById(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> get() {
+    public Mono<ResponseEntity<ProxiedBody>> get() {
         return userClient.get();
     }
 
     @PatchMapping(ApiPathConstants.BY_ID_PATH)
-    public ResponseEntity<Object> update(@RequestBody UserDto userDto, @PathVariable long id) {
+    public Mono<ResponseEntity<ProxiedBody>> update(@RequestBody UserDto userDto, @PathVariable long id) {
         return userClient.update(id, userDto);
     }
 
     @DeleteMapping(ApiPathConstants.BY_ID_PATH)
-    public ResponseEntity<Object> delete(@PathVariable int id) {
+    public Mono<ResponseEntity<ProxiedBody>> delete(@PathVariable int id) {
         return userClient.delete(id);
     }
 }
@@ -9,4 +9,9 @@ public class ApiPathConstants {
     public static final String OWNER_PATH = "owner";
     public static final String ADD_COMMENT_PATH = BY_ID_PATH + "/comment";
     public static final String ALL_PATH = "all";
+    public static final String BATCH_PATH = "batch";
+    public static final String IMPORT_PATH = "import";
+    public static final String EXPORT_PATH = "export";
+    public static final String STATS_PATH = "stats";
+    public static final String OWNER_STATS_PATH = OWNER_PATH + "/" + STATS_PATH;
 }
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.util;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class PageConstants {
+    public static final int MAX_PAGE_SIZE = 1000;
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceContext;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.propagation.Propagator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+// Заменяет инструментацию WebClient из Sleuth. Каждый запрос к серверу по умолчанию уходит с заголовком "b3: 0",
+// чтобы сервер не сэмплировал его заново, и несэмплированный запрос проходит фильтр без копирования.
+// Client span и полный контекст B3 добавляются только для сэмплированных запросов
+@RequiredArgsConstructor
+public class ServerCallTracingFilter implements ExchangeFilterFunction, WebClientCustomizer {
+    private static final String B3 = "b3";
+    private static final String NOT_SAMPLED = "0";
+    private static final String SERVER_SERVICE_NAME = "shareit-server";
+
+    private final Tracer tracer;
+    private final CurrentTraceContext currentTraceContext;
+    private final Propagator propagator;
+
+    @Override
+    public void customize(WebClient.Builder builder) {
+        builder.defaultHeader(B3, NOT_SAMPLED)
+                .filter(this);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        TraceContext parent = currentTraceContext.context();
+        if (parent == null || !Boolean.TRUE.equals(parent.sampled())) {
+            return next.exchange(request);
+        }
+        Span span = tracer.spanBuilder()
+                .setParent(parent)
+                .kind(Span.Kind.CLIENT)
+                .name(request.method().name())
+                .remoteServiceName(SERVER_SERVICE_NAME)
+                .tag("http.method", request.method().name())
+                .tag("http.path", request.url().getPath())
+                .start();
+        ClientRequest traced = ClientRequest.from(request)
+                .headers(headers -> {
+                    headers.remove(B3);
+                    propagator.inject(span.context(), headers, HttpHeaders::set);
+                })
+                .build();
+        return next.exchange(traced)
+                .doOnNext(response -> span.tag("http.status_code", String.valueOf(response.rawStatusCode())))
+                .doOnError(span::error)
+                .doFinally(signal -> span.end());
+    }
+}
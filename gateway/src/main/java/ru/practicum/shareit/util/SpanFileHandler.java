@@ -0,0 +1,147 @@
+package ru.practicum.shareit.util;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Поток запроса только кладёт span в ограниченную очередь, сериализует и пишет в файл фоновый поток.
+// Если запись не успевает и очередь заполнена, новые span-ы отбрасываются
+@Slf4j
+public class SpanFileHandler extends SpanHandler implements Closeable {
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 512;
+    private static final long POLL_MILLIS = 100;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final BlockingQueue<MutableSpan> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Writer writer;
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    public SpanFileHandler(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        flusher = new Thread(this::drain, "span-file-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Spans will be written to {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.ABANDONED) {
+            return true;
+        }
+        if (!queue.offer(span) && dropped.getAndIncrement() == 0) {
+            log.warn("Очередь span-ов заполнена ({}), новые span-ы отбрасываются", QUEUE_CAPACITY);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+        if (dropped.get() > 0) {
+            log.warn("Отброшено span-ов из-за заполненной очереди: {}", dropped.get());
+        }
+    }
+
+    private void drain() {
+        List<MutableSpan> batch = new ArrayList<>(BATCH_SIZE);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                MutableSpan first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<MutableSpan> batch) {
+        try {
+            for (MutableSpan span : batch) {
+                writer.write(mapper.writeValueAsString(toZipkinJson(span)));
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Не удалось записать {} span-ов: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> toZipkinJson(MutableSpan span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.traceId());
+        if (span.parentId() != null) {
+            json.put("parentId", span.parentId());
+        }
+        json.put("id", span.id());
+        if (span.kind() != null) {
+            json.put("kind", span.kind().name());
+        }
+        json.put("name", span.name());
+        json.put("timestamp", span.startTimestamp());
+        json.put("duration", span.finishTimestamp() - span.startTimestamp());
+        json.put("localEndpoint", endpoint(span.localServiceName(), span.localIp(), span.localPort()));
+        if (span.remoteServiceName() != null || span.remoteIp() != null) {
+            json.put("remoteEndpoint", endpoint(span.remoteServiceName(), span.remoteIp(), span.remotePort()));
+        }
+        Map<String, String> tags = new LinkedHashMap<>(span.tags());
+        if (span.error() != null && !tags.containsKey("error")) {
+            tags.put("error", span.error().getClass().getSimpleName());
+        }
+        json.put("tags", tags);
+        return json;
+    }
+
+    private static Map<String, Object> endpoint(String serviceName, String ip, int port) {
+        Map<String, Object> endpoint = new LinkedHashMap<>();
+        if (serviceName != null) {
+            endpoint.put("serviceName", serviceName);
+        }
+        if (ip != null) {
+            endpoint.put(ip.indexOf(':') < 0 ? "ipv4" : "ipv6", ip);
+        }
+        if (port != 0) {
+            endpoint.put("port", port);
+        }
+        return endpoint;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.propagation.Propagator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(value = "spring.sleuth.enabled", matchIfMissing = true)
+public class TracingConfiguration {
+    @Bean
+    public WebMvcConfigurer tracingValidatorConfigurer(javax.validation.Validator validator, Tracer tracer) {
+        return new WebMvcConfigurer() {
+            @Override
+            public Validator getValidator() {
+                return new TracingValidator(new SpringValidatorAdapter(validator), tracer);
+            }
+        };
+    }
+
+    @Bean
+    public ServerCallTracingFilter serverCallTracingFilter(Tracer tracer, CurrentTraceContext currentTraceContext,
+                                                           Propagator propagator) {
+        return new ServerCallTracingFilter(tracer, currentTraceContext, propagator);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.tracing", name = "file")
+    public SpanFileHandler spanFileHandler(@Value("${shareit.tracing.file}") Path file) throws IOException {
+        return new SpanFileHandler(file);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+@RequiredArgsConstructor
+public class TracingValidator implements SmartValidator {
+    private final SmartValidator delegate;
+    private final Tracer tracer;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        Span parent = tracer.currentSpan();
+        if (parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+            delegate.validate(target, errors, validationHints);
+            return;
+        }
+        Span span = tracer.nextSpan(parent)
+                .name("validate " + target.getClass().getSimpleName())
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            span.tag("validation.errors", String.valueOf(errors.getErrorCount()));
+            span.end();
+        }
+    }
+}
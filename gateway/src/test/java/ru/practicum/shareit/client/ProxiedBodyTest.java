@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ProxiedBodyTest {
+    @Test
+    void buffersBodyWithinLimit() throws IOException {
+        ProxiedBody body = ProxiedBody.read(chunks("{\"id\":", "1}"), 16).block();
+
+        assertThat(body.isBuffered(), equalTo(true));
+        assertThat(body.contentLength(), equalTo(8L));
+        assertThat(write(body), equalTo("{\"id\":1}"));
+    }
+
+    @Test
+    void streamsBodyOverLimitWithoutLosingChunks() throws IOException {
+        ProxiedBody body = ProxiedBody.read(chunks("[1,", "2,", "3,", "4]"), 4).block();
+
+        assertThat(body.isBuffered(), equalTo(false));
+        assertThat(body.contentLength(), equalTo(-1L));
+        assertThat(write(body), equalTo("[1,2,3,4]"));
+    }
+
+    @Test
+    void readsEmptyBodyAsBuffered() {
+        ProxiedBody body = ProxiedBody.read(Flux.empty(), 16).block();
+
+        assertThat(body.isBuffered(), equalTo(true));
+        assertThat(body.contentLength(), equalTo(0L));
+    }
+
+    private static Flux<DataBuffer> chunks(String... chunks) {
+        return Flux.fromArray(chunks)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String write(ProxiedBody body) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        body.writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
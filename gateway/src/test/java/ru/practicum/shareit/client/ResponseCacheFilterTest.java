@@ -0,0 +1,113 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+
+class ResponseCacheFilterTest {
+    private static final String ETAG = "\"i-1-0\"";
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter(properties(DataSize.ofMegabytes(1)), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void revalidatesCachedResponseWithEtag() {
+        assertThat(get("/items/1"), equalTo("/items/1"));
+        assertThat(get("/items/1"), equalTo("/items/1"));
+
+        assertThat(requests, hasSize(2));
+        assertThat(requests.get(0).headers().getFirst(HttpHeaders.IF_NONE_MATCH), nullValue());
+        assertThat(requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH), equalTo(ETAG));
+    }
+
+    @Test
+    void doesNotCacheNamedItemEndpoints() {
+        get("/items/search");
+        get("/items/search");
+
+        assertThat(requests, hasSize(2));
+        assertThat(requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH), nullValue());
+    }
+
+    @Test
+    void passesThroughResponsesLargerThanEntryLimit() {
+        filter = new ResponseCacheFilter(properties(DataSize.ofBytes(4)), new SimpleMeterRegistry());
+
+        assertThat(get("/items/1"), equalTo("/items/1"));
+        assertThat(get("/items/1"), equalTo("/items/1"));
+
+        assertThat(requests, hasSize(2));
+        assertThat(requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH), nullValue());
+    }
+
+    @Test
+    void writeInvalidatesOnlyAffectedResources() {
+        get("/items/1");
+        get("/users/1");
+
+        exchange(HttpMethod.POST, "/bookings");
+
+        get("/items/1");
+        get("/users/1");
+
+        assertThat(requests, hasSize(5));
+        assertThat(requests.get(3).headers().getFirst(HttpHeaders.IF_NONE_MATCH), nullValue());
+        assertThat(requests.get(4).headers().getFirst(HttpHeaders.IF_NONE_MATCH), equalTo(ETAG));
+    }
+
+    private static ResponseCacheProperties properties(DataSize maxEntrySize) {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxEntrySize(maxEntrySize);
+        return properties;
+    }
+
+    private String get(String path) {
+        return exchange(HttpMethod.GET, path);
+    }
+
+    private String exchange(HttpMethod method, String path) {
+        ClientRequest request = ClientRequest.create(method, URI.create("http://server" + path))
+                .header("X-Sharer-User-Id", "1")
+                .build();
+        return filter.filter(request, server())
+                .flatMap(response -> response.bodyToMono(String.class))
+                .block();
+    }
+
+    private ExchangeFunction server() {
+        return request -> {
+            requests.add(request);
+            if (ETAG.equals(request.headers().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.ETAG, ETAG)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                    .body(request.url().getPath())
+                    .build());
+        };
+    }
+}
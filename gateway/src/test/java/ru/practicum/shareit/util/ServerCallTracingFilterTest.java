@@ -0,0 +1,77 @@
+package ru.practicum.shareit.util;
+
+import brave.Tracing;
+import brave.sampler.Sampler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.brave.bridge.BraveBaggageManager;
+import org.springframework.cloud.sleuth.brave.bridge.BraveCurrentTraceContext;
+import org.springframework.cloud.sleuth.brave.bridge.BravePropagator;
+import org.springframework.cloud.sleuth.brave.bridge.BraveTracer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+
+class ServerCallTracingFilterTest {
+    private final Tracing tracing = Tracing.newBuilder()
+            .sampler(Sampler.ALWAYS_SAMPLE)
+            .build();
+    private final CurrentTraceContext currentTraceContext = new BraveCurrentTraceContext(
+            tracing.currentTraceContext());
+    private final Tracer tracer = new BraveTracer(tracing.tracer(), currentTraceContext, new BraveBaggageManager());
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private final WebClient client = client();
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    @Test
+    void marksRequestOutsideSampledTraceAsNotSampled() {
+        client.get().uri("/users").retrieve().toBodilessEntity().block();
+
+        HttpHeaders headers = requests.get(0).headers();
+        assertThat(headers.get("b3"), equalTo(List.of("0")));
+    }
+
+    @Test
+    void propagatesSampledTraceToServer() {
+        Span parent = tracer.nextSpan().start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+            client.get().uri("/users").retrieve().toBodilessEntity().block();
+        } finally {
+            parent.end();
+        }
+
+        HttpHeaders headers = requests.get(0).headers();
+        assertThat(headers.getFirst("X-B3-TraceId"), equalTo(parent.context().traceId()));
+        assertThat(headers.getFirst("X-B3-ParentSpanId"), equalTo(parent.context().spanId()));
+        assertThat(headers.getFirst("X-B3-Sampled"), startsWith("1"));
+        assertThat(headers.containsKey("b3"), equalTo(false));
+    }
+
+    private WebClient client() {
+        WebClient.Builder builder = WebClient.builder()
+                .baseUrl("http://localhost")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                });
+        new ServerCallTracingFilter(tracer, currentTraceContext, new BravePropagator(tracing)).customize(builder);
+        return builder.build();
+    }
+}
@@ -1,18 +1,28 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.util.ApiPathConstants;
+import ru.practicum.shareit.util.SliceResponse;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -21,6 +31,12 @@ public class BookingController {
         return bookingService.add(userId, bookingDtoIn);
     }
 
+    @PostMapping(ApiPathConstants.BATCH_PATH)
+    public List<BookingBatchResult> addAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                           @RequestBody List<BookingDtoIn> bookingDtoIns) {
+        return bookingService.addAll(userId, bookingDtoIns);
+    }
+
     @PatchMapping(ApiPathConstants.BY_ID_PATH)
     public BookingDtoOut changeBookingStatus(@RequestHeader("X-Sharer-User-Id") long userId,
                                              @PathVariable long id,
@@ -29,23 +45,50 @@ public class BookingController {
     }
 
     @GetMapping(ApiPathConstants.BY_ID_PATH)
-    public BookingDtoOut getBooking(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long id) {
+    public BookingDtoOut getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                    @PathVariable long id,
+                                    WebRequest request) {
+        Optional<String> tag = bookingService.getEntityTag(userId, id);
+        if (tag.isPresent() && request.checkNotModified(tag.get())) {
+            return null;
+        }
         return bookingService.getBooking(userId, id);
     }
 
     @GetMapping
-    public List<BookingDtoOut> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(defaultValue = "ALL") String state,
-                                                  @RequestParam(defaultValue = "0") Integer from,
-                                                  @RequestParam(defaultValue = "20") Integer size) {
-        return bookingService.getAllUserBookings(userId, state, from, size);
+    public ResponseEntity<List<BookingDtoOut>> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                  @RequestParam(defaultValue = "ALL") String state,
+                                                                  @RequestParam(defaultValue = "0") Integer from,
+                                                                  @RequestParam(defaultValue = "20") Integer size,
+                                                                  @RequestParam(required = false) String after) {
+        return withNextCursor(bookingService.getAllUserBookings(userId, state, from, size, after));
     }
 
     @GetMapping(ApiPathConstants.OWNER_PATH)
-    public List<BookingDtoOut> getAllOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                   @RequestParam(defaultValue = "ALL") String state,
-                                                   @RequestParam(defaultValue = "0") Integer from,
-                                                   @RequestParam(defaultValue = "20") Integer size) {
-        return bookingService.getAllOwnerBookings(userId, state, from, size);
+    public ResponseEntity<List<BookingDtoOut>> getAllOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                   @RequestParam(defaultValue = "ALL") String state,
+                                                                   @RequestParam(defaultValue = "0") Integer from,
+                                                                   @RequestParam(defaultValue = "20") Integer size,
+                                                                   @RequestParam(required = false) String after) {
+        return withNextCursor(bookingService.getAllOwnerBookings(userId, state, from, size, after));
+    }
+
+    @GetMapping(ApiPathConstants.STATS_PATH)
+    public BookingStateCounts countUserBookings(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingService.countUserBookings(userId);
+    }
+
+    @GetMapping(ApiPathConstants.OWNER_STATS_PATH)
+    public BookingStateCounts countOwnerBookings(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingService.countOwnerBookings(userId);
+    }
+
+    private static ResponseEntity<List<BookingDtoOut>> withNextCursor(Slice<BookingDtoOut> bookings) {
+        ResponseEntity.BodyBuilder response = SliceResponse.headers(bookings);
+        if (bookings.hasNext()) {
+            List<BookingDtoOut> content = bookings.getContent();
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(content.get(content.size() - 1)).toString());
+        }
+        return response.body(bookings.getContent());
     }
 }
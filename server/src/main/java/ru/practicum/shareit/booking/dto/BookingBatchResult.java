@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+@AllArgsConstructor
+public class BookingBatchResult {
+    private int status;
+    private BookingDtoOut booking;
+    private String error;
+
+    public static BookingBatchResult created(BookingDtoOut booking) {
+        return new BookingBatchResult(HttpStatus.CREATED.value(), booking, null);
+    }
+
+    public static BookingBatchResult failed(HttpStatus status, String error) {
+        return new BookingBatchResult(status.value(), null, error);
+    }
+}
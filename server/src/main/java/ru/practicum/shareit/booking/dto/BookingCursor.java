@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Getter
+@RequiredArgsConstructor
+public class BookingCursor {
+    public static final BookingCursor FIRST = new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            Long.MAX_VALUE);
+    private static final String SEPARATOR = ",";
+
+    private final LocalDateTime start;
+    private final Long id;
+
+    public static BookingCursor of(BookingDtoOut booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor parse(String token) {
+        String[] parts = token.split(SEPARATOR);
+        if (parts.length != 2) {
+            throw new BadRequestException("Booking: Некорректный курсор " + token);
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(parts[0].trim()), Long.parseLong(parts[1].trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BadRequestException("Booking: Некорректный курсор " + token);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return start + SEPARATOR + id;
+    }
+}
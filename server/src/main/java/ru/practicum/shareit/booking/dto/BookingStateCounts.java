@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Getter;
+
+@Getter
+public class BookingStateCounts {
+    private final long all;
+    private final long current;
+    private final long past;
+    private final long future;
+    private final long waiting;
+    private final long rejected;
+
+    // SUM по пустой выборке возвращает null
+    public BookingStateCounts(Long all, Long current, Long past, Long future, Long waiting, Long rejected) {
+        this.all = valueOf(all);
+        this.current = valueOf(current);
+        this.past = valueOf(past);
+        this.future = valueOf(future);
+        this.waiting = valueOf(waiting);
+        this.rejected = valueOf(rejected);
+    }
+
+    private static long valueOf(Long count) {
+        return count == null ? 0 : count;
+    }
+}
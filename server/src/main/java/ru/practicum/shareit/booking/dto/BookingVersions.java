@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.dto;
+
+public interface BookingVersions {
+    Long getVersion();
+
+    Long getItemVersion();
+
+    Long getBookerVersion();
+}
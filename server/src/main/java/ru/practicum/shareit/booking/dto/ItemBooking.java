@@ -5,7 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 
 import java.time.LocalDateTime;
 
@@ -17,7 +17,7 @@ public class ItemBooking {
     private Long id;
     private LocalDateTime start;
     private LocalDateTime end;
-    private Item item;
+    private ItemShortDto item;
     private Long bookerId;
     private BookingStatus status;
 }
@@ -6,6 +6,8 @@ import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.dto.ItemBooking;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingSnapshot;
+import ru.practicum.shareit.item.model.Item;
 
 @Mapper(componentModel = "spring")
 public interface BookingMapper {
@@ -15,4 +17,8 @@ public interface BookingMapper {
 
     @Mapping(source = "booking.booker.id", target = "bookerId")
     ItemBooking toItemBooking(Booking booking);
+
+    @Mapping(source = "snapshot.bookingId", target = "id")
+    @Mapping(source = "item", target = "item")
+    ItemBooking toItemBooking(BookingSnapshot snapshot, Item item);
 }
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.time.LocalDateTime;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSnapshot {
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "start_date")
+    private LocalDateTime start;
+
+    @Column(name = "end_date")
+    private LocalDateTime end;
+
+    @Column(name = "booker_id")
+    private Long bookerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private BookingStatus status;
+
+    public static BookingSnapshot of(Booking booking) {
+        return new BookingSnapshot(booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getBooker().getId(),
+                booking.getStatus());
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Границы выборки бронирований: start > startAfter, start <= startUntil, end >= endFrom, end < endBefore
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingWindow {
+    private static final LocalDateTime MIN = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final Set<BookingStatus> ANY_STATUS =
+            Collections.unmodifiableSet(EnumSet.allOf(BookingStatus.class));
+
+    public static final BookingWindow ANY = new BookingWindow(MIN, MAX, MIN, MAX, ANY_STATUS);
+
+    private final LocalDateTime startAfter;
+    private final LocalDateTime startUntil;
+    private final LocalDateTime endFrom;
+    private final LocalDateTime endBefore;
+    private final Set<BookingStatus> statuses;
+
+    public static BookingWindow current(LocalDateTime now) {
+        return new BookingWindow(MIN, now, now, MAX, ANY_STATUS);
+    }
+
+    public static BookingWindow past(LocalDateTime now) {
+        return new BookingWindow(MIN, MAX, MIN, now, ANY_STATUS);
+    }
+
+    public static BookingWindow future(LocalDateTime now) {
+        return new BookingWindow(now, MAX, MIN, MAX, ANY_STATUS);
+    }
+
+    public static BookingWindow withStatus(BookingStatus status) {
+        return new BookingWindow(MIN, MAX, MIN, MAX, Collections.unmodifiableSet(EnumSet.of(status)));
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Table(name = "item_booking_summary")
+@NoArgsConstructor
+public class ItemBookingSummary implements Persistable<Long> {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "last_booking_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "last_start_date")),
+            @AttributeOverride(name = "end", column = @Column(name = "last_end_date")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "last_booker_id")),
+            @AttributeOverride(name = "status", column = @Column(name = "last_status"))
+    })
+    private BookingSnapshot lastBooking;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "next_booking_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "next_start_date")),
+            @AttributeOverride(name = "end", column = @Column(name = "next_end_date")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "next_booker_id")),
+            @AttributeOverride(name = "status", column = @Column(name = "next_status"))
+    })
+    private BookingSnapshot nextBooking;
+
+    // Момент, когда nextBooking начнётся и сводку нужно пересчитать
+    @Column(name = "roll_at")
+    private LocalDateTime rollAt;
+
+    @Transient
+    private boolean persisted;
+
+    public ItemBookingSummary(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    @Override
+    public Long getId() {
+        return itemId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    public boolean isEmpty() {
+        return lastBooking == null && nextBooking == null;
+    }
+
+    public boolean isDue(LocalDateTime now) {
+        return rollAt != null && !rollAt.isAfter(now);
+    }
+
+    public boolean references(long bookingId) {
+        return isSnapshotOf(lastBooking, bookingId) || isSnapshotOf(nextBooking, bookingId);
+    }
+
+    public void copyFrom(ItemBookingSummary summary) {
+        lastBooking = summary.lastBooking;
+        nextBooking = summary.nextBooking;
+        rollAt = summary.rollAt;
+    }
+
+    public void setLastBooking(Booking booking) {
+        lastBooking = booking == null ? null : BookingSnapshot.of(booking);
+    }
+
+    public void setNextBooking(Booking booking) {
+        nextBooking = booking == null ? null : BookingSnapshot.of(booking);
+        rollAt = booking == null ? null : booking.getStart();
+    }
+
+    public void offer(Booking booking, LocalDateTime now) {
+        if (booking.getStatus() == BookingStatus.REJECTED) {
+            return;
+        }
+        if (booking.getStart().isAfter(now)) {
+            if (nextBooking == null || booking.getStart().isBefore(nextBooking.getStart())
+                    || booking.getStart().equals(nextBooking.getStart())
+                    && booking.getId() < nextBooking.getBookingId()) {
+                setNextBooking(booking);
+            }
+        } else if (lastBooking == null || booking.getEnd().isAfter(lastBooking.getEnd())
+                || booking.getEnd().equals(lastBooking.getEnd())
+                && booking.getId() < lastBooking.getBookingId()) {
+            setLastBooking(booking);
+        }
+    }
+
+    public void updateStatus(Booking booking) {
+        if (isSnapshotOf(lastBooking, booking.getId())) {
+            lastBooking.setStatus(booking.getStatus());
+        }
+        if (isSnapshotOf(nextBooking, booking.getId())) {
+            nextBooking.setStatus(booking.getStatus());
+        }
+    }
+
+    private static boolean isSnapshotOf(BookingSnapshot snapshot, long bookingId) {
+        return snapshot != null && snapshot.getBookingId() == bookingId;
+    }
+}
@@ -1,10 +1,38 @@
 package ru.practicum.shareit.booking.model;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 public enum SearchState {
-    ALL,
-    CURRENT,
-    PAST,
-    FUTURE,
-    WAITING,
-    REJECTED
+    ALL(now -> BookingWindow.ANY),
+    CURRENT(BookingWindow::current),
+    PAST(BookingWindow::past),
+    FUTURE(BookingWindow::future),
+    WAITING(BookingWindow.withStatus(BookingStatus.WAITING)),
+    REJECTED(BookingWindow.withStatus(BookingStatus.REJECTED));
+
+    private static final Map<String, SearchState> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toMap(Enum::name, Function.identity()));
+
+    private final Function<LocalDateTime, BookingWindow> window;
+
+    SearchState(Function<LocalDateTime, BookingWindow> window) {
+        this.window = window;
+    }
+
+    SearchState(BookingWindow window) {
+        this(now -> window);
+    }
+
+    public BookingWindow window(LocalDateTime now) {
+        return window.apply(now);
+    }
+
+    public static Optional<SearchState> from(String state) {
+        return Optional.ofNullable(BY_NAME.get(state));
+    }
 }
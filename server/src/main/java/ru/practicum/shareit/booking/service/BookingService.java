@@ -1,18 +1,30 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingService {
     BookingDtoOut add(long userId, BookingDtoIn bookingDtoIn);
 
+    List<BookingBatchResult> addAll(long userId, List<BookingDtoIn> bookingDtoIns);
+
     BookingDtoOut changeBookingStatus(long userId, long bookingId, boolean approved);
 
     BookingDtoOut getBooking(long userId, long bookingId);
 
-    List<BookingDtoOut> getAllUserBookings(long userId, String state, Integer from, Integer size);
+    Optional<String> getEntityTag(long userId, long bookingId);
+
+    Slice<BookingDtoOut> getAllUserBookings(long userId, String state, Integer from, Integer size, String after);
+
+    Slice<BookingDtoOut> getAllOwnerBookings(long userId, String state, Integer from, Integer size, String after);
+
+    BookingStateCounts countUserBookings(long userId);
 
-    List<BookingDtoOut> getAllOwnerBookings(long userId, String state, Integer from, Integer size);
+    BookingStateCounts countOwnerBookings(long userId);
 }
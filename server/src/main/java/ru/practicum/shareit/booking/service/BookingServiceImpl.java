@@ -1,15 +1,22 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingWindow;
 import ru.practicum.shareit.booking.model.SearchState;
 import ru.practicum.shareit.booking.storage.BookingDbStorage;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -17,38 +24,132 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemDbStorage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserDbStorage;
+import ru.practicum.shareit.util.EntityTag;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("shareit.service")
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.of(BookingStatus.WAITING,
+            BookingStatus.APPROVED);
+
     private final BookingDbStorage bookingStorage;
     private final UserDbStorage userStorage;
     private final ItemDbStorage itemStorage;
     private final BookingMapper mapper;
+    private final ItemBookingSummaryService summaryService;
+    private final Clock clock;
 
     @Override
     @Transactional
     public BookingDtoOut add(long userId, BookingDtoIn bookingDtoIn) {
         User booker = userStorage.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
-        Item item = itemStorage.findById(bookingDtoIn.getItemId())
-                .orElseThrow(() -> new NotFoundException("Item: Вещь с id=" + bookingDtoIn.getItemId() +
-                        " не найдена в списке всех вещей"));
+        Item item = itemStorage.findByIdForUpdate(bookingDtoIn.getItemId()).orElse(null);
+        List<Booking> itemBookings = item == null ? Collections.emptyList() : bookingStorage
+                .findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter(Collections.singleton(item.getId()),
+                        ACTIVE_STATUSES,
+                        bookingDtoIn.getEnd(),
+                        bookingDtoIn.getStart());
+        checkBookable(userId, bookingDtoIn, item, itemBookings);
+        Booking booking = mapper.toEntity(bookingDtoIn);
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStatus(BookingStatus.WAITING);
+        Booking savedBooking = bookingStorage.save(booking);
+        summaryService.onBookingsAdded(Collections.singletonList(savedBooking));
+        return mapper.toDtoOut(savedBooking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResult> addAll(long userId, List<BookingDtoIn> bookingDtoIns) {
+        if (bookingDtoIns.isEmpty()) {
+            throw new BadRequestException("Booking: Список бронирований пуст");
+        }
+        User booker = userStorage.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
+        Set<Long> itemIds = bookingDtoIns.stream()
+                .map(BookingDtoIn::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemStorage.findAllByIdForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        LocalDateTime earliestStart = bookingDtoIns.stream()
+                .map(BookingDtoIn::getStart)
+                .min(Comparator.naturalOrder())
+                .orElse(LocalDateTime.MIN);
+        LocalDateTime latestEnd = bookingDtoIns.stream()
+                .map(BookingDtoIn::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElse(LocalDateTime.MAX);
+        Map<Long, List<Booking>> activeBookings = bookingStorage
+                .findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter(itemIds, ACTIVE_STATUSES, latestEnd, earliestStart)
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        List<BookingBatchResult> results = new ArrayList<>(bookingDtoIns.size());
+        Map<Integer, Booking> bookings = new LinkedHashMap<>();
+        for (BookingDtoIn bookingDtoIn : bookingDtoIns) {
+            Item item = items.get(bookingDtoIn.getItemId());
+            List<Booking> itemBookings = activeBookings.computeIfAbsent(bookingDtoIn.getItemId(),
+                    id -> new ArrayList<>());
+            try {
+                checkBookable(userId, bookingDtoIn, item, itemBookings);
+            } catch (NotFoundException e) {
+                results.add(BookingBatchResult.failed(HttpStatus.NOT_FOUND, e.getMessage()));
+                continue;
+            } catch (BadRequestException e) {
+                results.add(BookingBatchResult.failed(HttpStatus.BAD_REQUEST, e.getMessage()));
+                continue;
+            }
+            Booking booking = mapper.toEntity(bookingDtoIn);
+            booking.setId(null);
+            booking.setBooker(booker);
+            booking.setItem(item);
+            booking.setStatus(BookingStatus.WAITING);
+            itemBookings.add(booking);
+            bookings.put(results.size(), booking);
+            results.add(null);
+        }
+        bookingStorage.saveAll(bookings.values());
+        summaryService.onBookingsAdded(bookings.values());
+        bookings.forEach((index, booking) -> results.set(index,
+                BookingBatchResult.created(mapper.toDtoOut(booking))));
+        return results;
+    }
+
+    private static void checkBookable(long userId, BookingDtoIn bookingDtoIn, Item item, List<Booking> itemBookings) {
+        if (item == null) {
+            throw new NotFoundException("Item: Вещь с id=" + bookingDtoIn.getItemId() +
+                    " не найдена в списке всех вещей");
+        }
         if (item.getOwnerId().getId() == userId) {
             throw new NotFoundException("Booking: Владелец не может бронировать свою вещь");
         }
         if (!item.getAvailable()) {
             throw new BadRequestException("Item: Вещь недоступна для бронирования");
         }
-        Booking booking = mapper.toEntity(bookingDtoIn);
-        booking.setBooker(booker);
-        booking.setItem(item);
-        booking.setStatus(BookingStatus.WAITING);
-        return mapper.toDtoOut(bookingStorage.save(booking));
+        boolean overlaps = itemBookings.stream()
+                .anyMatch(booking -> booking.getStart().isBefore(bookingDtoIn.getEnd())
+                        && booking.getEnd().isAfter(bookingDtoIn.getStart()));
+        if (overlaps) {
+            throw new BadRequestException("Booking: Вещь уже забронирована на указанные даты");
+        }
     }
 
     @Override
@@ -62,11 +163,21 @@ public class BookingServiceImpl implements BookingService {
         }
         if (booking.getStatus().equals(BookingStatus.WAITING)) {
             if (approved) {
+                itemStorage.findByIdForUpdate(item.getId());
+                if (bookingStorage.existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(item.getId(),
+                        booking.getId(),
+                        BookingStatus.APPROVED,
+                        booking.getEnd(),
+                        booking.getStart())) {
+                    throw new BadRequestException("Booking: Вещь уже забронирована на указанные даты");
+                }
                 booking.setStatus(BookingStatus.APPROVED);
             } else {
                 booking.setStatus(BookingStatus.REJECTED);
             }
-            return mapper.toDtoOut(bookingStorage.save(booking));
+            Booking savedBooking = bookingStorage.save(booking);
+            summaryService.onBookingStatusChanged(savedBooking);
+            return mapper.toDtoOut(savedBooking);
         } else {
             throw new BadRequestException("Booking: Нельзя повторно менять статус");
         }
@@ -85,80 +196,56 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDtoOut> getAllUserBookings(long userId, String state, Integer from, Integer size) {
-        User booker = userStorage.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
-        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        if (state.equals(SearchState.ALL.name())) {
-            return bookingStorage.findAllByBookerOrderByStartDesc(booker, page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        } else if (state.equals(SearchState.FUTURE.name())) {
-            return bookingStorage.findAllByBookerAndStartGreaterThanOrderByStartDesc(booker,
-                            LocalDateTime.now(), page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        } else if (state.equals(SearchState.PAST.name())) {
-            return bookingStorage.findAllByBookerAndEndLessThanOrderByStartDesc(booker,
-                            LocalDateTime.now(), page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        } else if (state.equals(SearchState.CURRENT.name())) {
-            return bookingStorage.findAllCurrentUserBookings(booker.getId(),
-                            LocalDateTime.now(),
-                            LocalDateTime.now(),
-                            page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        } else if (state.equals(SearchState.WAITING.name())) {
-            return bookingStorage.findAllByBookerAndStatusOrderByStartDesc(booker, BookingStatus.WAITING, page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        } else if (state.equals(SearchState.REJECTED.name())) {
-            return bookingStorage.findAllByBookerAndStatusOrderByStartDesc(booker, BookingStatus.REJECTED, page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        }
-        throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+    public Optional<String> getEntityTag(long userId, long bookingId) {
+        return bookingStorage.findVersionsById(bookingId, userId)
+                .map(versions -> EntityTag.of("b", bookingId, versions.getVersion(),
+                        "i", versions.getItemVersion(),
+                        "u", versions.getBookerVersion()));
     }
 
     @Override
-    public List<BookingDtoOut> getAllOwnerBookings(long userId, String state, Integer from, Integer size) {
-        User owner = userStorage.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
-        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        if (itemStorage.findAllByOwnerIdOrderById(owner, PageRequest.of(0, 100)).isEmpty()) {
+    public Slice<BookingDtoOut> getAllUserBookings(long userId, String state, Integer from, Integer size, String after) {
+        userStorage.checkExists(userId);
+        BookingWindow window = parseState(state).window(LocalDateTime.now(clock));
+        BookingCursor cursor = after == null ? BookingCursor.FIRST : BookingCursor.parse(after);
+        PageRequest page = PageRequest.of(after == null && from > 0 ? from / size : 0, size);
+        return bookingStorage.findAllUserBookings(userId, window, cursor, page)
+                .map(mapper::toDtoOut);
+    }
+
+    @Override
+    public Slice<BookingDtoOut> getAllOwnerBookings(long userId, String state, Integer from, Integer size, String after) {
+        User owner = userStorage.getExistingReference(userId);
+        BookingCursor cursor = after == null ? BookingCursor.FIRST : BookingCursor.parse(after);
+        PageRequest page = PageRequest.of(after == null && from > 0 ? from / size : 0, size);
+        if (!itemStorage.existsByOwnerId(owner)) {
             throw new NotFoundException("Item: Пользователь не является владельцем какой либо вещи");
         }
-        if (state.equals(SearchState.ALL.name())) {
-            return bookingStorage.findAllOwnerBookings(owner.getId(), page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        } else if (state.equals(SearchState.FUTURE.name())) {
-            return bookingStorage.findAllOwnerFutureBookings(owner.getId(),
-                            LocalDateTime.now(), page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        } else if (state.equals(SearchState.PAST.name())) {
-            return bookingStorage.findAllOwnerPastBookings(owner.getId(),
-                            LocalDateTime.now(), page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        } else if (state.equals(SearchState.CURRENT.name())) {
-            return bookingStorage.findAllOwnerCurrentBookings(owner.getId(),
-                            LocalDateTime.now(),
-                            LocalDateTime.now(), page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        } else if (state.equals(SearchState.WAITING.name())) {
-            return bookingStorage.findAllOwnerBookingsByStatus(owner.getId(), BookingStatus.WAITING, page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        } else if (state.equals(SearchState.REJECTED.name())) {
-            return bookingStorage.findAllOwnerBookingsByStatus(owner.getId(), BookingStatus.REJECTED, page)
-                    .map(mapper::toDtoOut)
-                    .getContent();
-        }
-        throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+        BookingWindow window = parseState(state).window(LocalDateTime.now(clock));
+        return bookingStorage.findAllOwnerBookings(userId, window, cursor, page)
+                .map(mapper::toDtoOut);
+    }
+
+    @Override
+    public BookingStateCounts countUserBookings(long userId) {
+        userStorage.checkExists(userId);
+        return bookingStorage.countUserBookings(userId,
+                LocalDateTime.now(clock),
+                BookingStatus.WAITING,
+                BookingStatus.REJECTED);
+    }
+
+    @Override
+    public BookingStateCounts countOwnerBookings(long userId) {
+        userStorage.checkExists(userId);
+        return bookingStorage.countOwnerBookings(userId,
+                LocalDateTime.now(clock),
+                BookingStatus.WAITING,
+                BookingStatus.REJECTED);
+    }
+
+    private static SearchState parseState(String state) {
+        return SearchState.from(state)
+                .orElseThrow(() -> new BadRequestException("Unknown state: UNSUPPORTED_STATUS"));
     }
 }
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ItemBookingSummaryProperties.class)
+@ConditionalOnProperty(prefix = "shareit.booking-summary", name = "roll-enabled", matchIfMissing = true)
+public class ItemBookingSummaryConfiguration implements SchedulingConfigurer {
+    private final ItemBookingSummaryService summaryService;
+    private final ItemBookingSummaryProperties properties;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        ItemBookingSummaryRoller roller = new ItemBookingSummaryRoller(summaryService, properties.getRollBatchSize());
+        registrar.addFixedDelayTask(roller::roll, properties.getRollInterval().toMillis());
+    }
+}
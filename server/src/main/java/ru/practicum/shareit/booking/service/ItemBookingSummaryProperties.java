@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.booking-summary")
+public class ItemBookingSummaryProperties {
+    private boolean rollEnabled = true;
+    private Duration rollInterval = Duration.ofMinutes(1);
+    private int rollBatchSize = 500;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ItemBookingSummaryRoller {
+    private final ItemBookingSummaryService summaryService;
+    private final int batchSize;
+
+    public void roll() {
+        int rolled = 0;
+        int batch;
+        do {
+            // Каждая пачка — отдельная транзакция, чтобы не держать блокировки сводок долго
+            batch = summaryService.rollDue(batchSize);
+            rolled += batch;
+        } while (batch == batchSize);
+        if (rolled > 0) {
+            log.debug("Сдвинуто сводок бронирований: {}", rolled);
+        }
+    }
+}
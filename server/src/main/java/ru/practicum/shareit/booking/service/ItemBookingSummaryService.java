@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ItemBookingSummaryService {
+    Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds);
+
+    void onBookingsAdded(Collection<Booking> bookings);
+
+    void onBookingStatusChanged(Booking booking);
+
+    void refresh(Collection<Long> itemIds);
+
+    int rollDue(int limit);
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.storage.BookingDbStorage;
+import ru.practicum.shareit.booking.storage.ItemBookingSummaryDbStorage;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Timed("shareit.service")
+@Transactional(readOnly = true)
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    private final ItemBookingSummaryDbStorage summaryStorage;
+    private final BookingDbStorage bookingStorage;
+    private final Clock clock;
+
+    @Override
+    public Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<Long, ItemBookingSummary> summaries = summaryStorage.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        List<Long> dueItemIds = summaries.values().stream()
+                .filter(summary -> summary.isDue(now))
+                .map(ItemBookingSummary::getItemId)
+                .collect(Collectors.toList());
+        if (!dueItemIds.isEmpty()) {
+            // Планировщик ещё не успел сдвинуть сводку: считаем её на лету, не сохраняя
+            summaries.putAll(compute(dueItemIds, now));
+        }
+        return summaries;
+    }
+
+    @Override
+    @Transactional
+    public void onBookingsAdded(Collection<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<Long, ItemBookingSummary> summaries = lock(bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toCollection(TreeSet::new)));
+        List<Long> dueItemIds = new ArrayList<>();
+        for (Booking booking : bookings) {
+            ItemBookingSummary summary = summaries.computeIfAbsent(booking.getItem().getId(),
+                    ItemBookingSummary::new);
+            if (summary.isDue(now)) {
+                dueItemIds.add(summary.getItemId());
+            } else {
+                summary.offer(booking, now);
+            }
+        }
+        summaries.keySet().removeAll(dueItemIds);
+        summaryStorage.saveAll(summaries.values());
+        if (!dueItemIds.isEmpty()) {
+            refresh(dueItemIds);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void onBookingStatusChanged(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        ItemBookingSummary summary = lock(Collections.singletonList(itemId)).get(itemId);
+        if (summary == null) {
+            if (booking.getStatus() != BookingStatus.REJECTED) {
+                refresh(Collections.singletonList(itemId));
+            }
+        } else if (booking.getStatus() == BookingStatus.REJECTED && summary.references(booking.getId())) {
+            refresh(Collections.singletonList(itemId));
+        } else {
+            summary.updateStatus(booking);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void refresh(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        Map<Long, ItemBookingSummary> summaries = lock(itemIds);
+        Map<Long, ItemBookingSummary> computed = compute(itemIds, LocalDateTime.now(clock));
+        for (ItemBookingSummary fresh : computed.values()) {
+            ItemBookingSummary summary = summaries.get(fresh.getItemId());
+            if (fresh.isEmpty()) {
+                if (summary != null) {
+                    summaryStorage.delete(summary);
+                }
+            } else if (summary == null) {
+                summaryStorage.save(fresh);
+            } else {
+                summary.copyFrom(fresh);
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public int rollDue(int limit) {
+        List<Long> dueItemIds = summaryStorage.findDueItemIds(LocalDateTime.now(clock), PageRequest.of(0, limit));
+        refresh(dueItemIds);
+        return dueItemIds.size();
+    }
+
+    private Map<Long, ItemBookingSummary> lock(Collection<Long> itemIds) {
+        return summaryStorage.findAllByIdForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+    }
+
+    private Map<Long, ItemBookingSummary> compute(Collection<Long> itemIds, LocalDateTime now) {
+        List<Long> ids = new ArrayList<>(itemIds);
+        Map<Long, Booking> nextBookings = groupByItemId(
+                bookingStorage.findItemsNextBookings(ids, now, BookingStatus.REJECTED));
+        Map<Long, Booking> lastBookings = groupByItemId(
+                bookingStorage.findItemsLastBookings(ids, now, BookingStatus.REJECTED));
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        for (Long itemId : ids) {
+            ItemBookingSummary summary = new ItemBookingSummary(itemId);
+            summary.setNextBooking(nextBookings.get(itemId));
+            summary.setLastBooking(lastBookings.get(itemId));
+            summaries.put(itemId, summary);
+        }
+        return summaries;
+    }
+
+    private static Map<Long, Booking> groupByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(),
+                        Function.identity(),
+                        (first, second) -> first.getId() < second.getId() ? first : second));
+    }
+}
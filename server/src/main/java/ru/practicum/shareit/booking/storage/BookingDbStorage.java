@@ -1,84 +1,169 @@
 package ru.practicum.shareit.booking.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
+import ru.practicum.shareit.booking.dto.BookingVersions;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingWindow;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingDbStorage extends JpaRepository<Booking, Long> {
-    Page<Booking> findAllByBookerOrderByStartDesc(User user, Pageable page);
+    String WINDOW = "AND b.start > ?2 AND b.start <= ?3 AND b.end >= ?4 AND b.end < ?5 AND b.status IN ?6 " +
+            "AND (b.start < ?7 OR (b.start = ?7 AND b.id < ?8)) " +
+            "ORDER BY b.start DESC, b.id DESC ";
+    // Условия совпадают с BookingWindow для CURRENT, PAST и FUTURE
+    String STATE_COUNTS = "SUM(CASE WHEN b.start <= ?2 AND b.end >= ?2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.end < ?2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.start > ?2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.status = ?3 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.status = ?4 THEN 1 ELSE 0 END)) ";
 
-    Page<Booking> findAllByBookerAndStartGreaterThanOrderByStartDesc(User booker, LocalDateTime date, Pageable page);
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long bookingId);
 
-    Page<Booking> findAllByBookerAndEndLessThanOrderByStartDesc(User booker, LocalDateTime date, Pageable page);
+    @Query("SELECT b.version AS version, i.version AS itemVersion, u.version AS bookerVersion " +
+            "FROM Booking AS b " +
+            "JOIN b.item AS i " +
+            "JOIN b.booker AS u " +
+            "WHERE b.id = ?1 AND (u.id = ?2 OR i.ownerId.id = ?2)")
+    Optional<BookingVersions> findVersionsById(Long bookingId, Long userId);
 
     @Query("SELECT b " +
             "FROM Booking AS b " +
-            "JOIN b.booker AS u " +
-            "WHERE u.id = ?1 AND b.start <= ?2 AND b.end >= ?3 " +
-            "ORDER BY b.start DESC ")
-    Page<Booking> findAllCurrentUserBookings(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable page);
+            "JOIN FETCH b.item " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.booker.id = ?1 " + WINDOW)
+    Slice<Booking> findAllUserBookings(Long bookerId,
+                                       LocalDateTime startAfter,
+                                       LocalDateTime startUntil,
+                                       LocalDateTime endFrom,
+                                       LocalDateTime endBefore,
+                                       Collection<BookingStatus> statuses,
+                                       LocalDateTime cursorStart,
+                                       Long cursorId,
+                                       Pageable page);
 
-    Page<Booking> findAllByBookerAndStatusOrderByStartDesc(User booker, BookingStatus status, Pageable page);
+    default Slice<Booking> findAllUserBookings(Long bookerId,
+                                               BookingWindow window,
+                                               BookingCursor cursor,
+                                               Pageable page) {
+        return findAllUserBookings(bookerId,
+                window.getStartAfter(),
+                window.getStartUntil(),
+                window.getEndFrom(),
+                window.getEndBefore(),
+                window.getStatuses(),
+                cursor.getStart(),
+                cursor.getId(),
+                page);
+    }
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingStateCounts(COUNT(b), " + STATE_COUNTS +
+            "FROM Booking AS b " +
+            "WHERE b.booker.id = ?1")
+    BookingStateCounts countUserBookings(Long bookerId,
+                                         LocalDateTime date,
+                                         BookingStatus waiting,
+                                         BookingStatus rejected);
 
     List<Booking> findAllByBookerAndItemAndStatusIsNotAndStartBefore(User user,
                                                                      Item item,
                                                                      BookingStatus status,
                                                                      LocalDateTime start);
 
+    // Производные запросы по item.id соединяют items через LEFT JOIN, и база не использует индекс по item_id
     @Query("SELECT b " +
             "FROM Booking AS b " +
-            "JOIN b.item AS it " +
-            "WHERE it.ownerId.id = ?1 " +
-            "ORDER BY b.start DESC ")
-    Page<Booking> findAllOwnerBookings(Long ownerId, Pageable page);
+            "WHERE b.item.id IN ?1 AND b.status IN ?2 AND b.start < ?3 AND b.end > ?4")
+    List<Booking> findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter(Collection<Long> itemIds,
+                                                                        Collection<BookingStatus> statuses,
+                                                                        LocalDateTime end,
+                                                                        LocalDateTime start);
 
-    @Query("SELECT b " +
+    @Query("SELECT COUNT(b) > 0 " +
             "FROM Booking AS b " +
-            "JOIN b.item AS it " +
-            "WHERE it.ownerId.id = ?1 AND b.start > ?2 " +
-            "ORDER BY b.start DESC ")
-    Page<Booking> findAllOwnerFutureBookings(Long ownerId, LocalDateTime date, Pageable page);
+            "WHERE b.item.id = ?1 AND b.status IN ?2 AND b.start < ?3 AND b.end > ?4")
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Long itemId,
+                                                               Collection<BookingStatus> statuses,
+                                                               LocalDateTime end,
+                                                               LocalDateTime start);
 
-    @Query("SELECT b " +
+    @Query("SELECT COUNT(b) > 0 " +
             "FROM Booking AS b " +
-            "JOIN b.item AS it " +
-            "WHERE it.ownerId.id = ?1 AND b.end < ?2 " +
-            "ORDER BY b.start DESC ")
-    Page<Booking> findAllOwnerPastBookings(Long ownerId, LocalDateTime date, Pageable page);
+            "WHERE b.item.id = ?1 AND b.id <> ?2 AND b.status = ?3 AND b.start < ?4 AND b.end > ?5")
+    boolean existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(Long itemId,
+                                                                     Long bookingId,
+                                                                     BookingStatus status,
+                                                                     LocalDateTime end,
+                                                                     LocalDateTime start);
 
     @Query("SELECT b " +
             "FROM Booking AS b " +
-            "JOIN b.item AS it " +
-            "WHERE it.ownerId.id = ?1 AND b.end > ?2 AND b.start < ?3 " +
-            "ORDER BY b.start DESC ")
-    Page<Booking> findAllOwnerCurrentBookings(Long ownerId, LocalDateTime date1, LocalDateTime date2, Pageable page);
+            "JOIN FETCH b.item AS it " +
+            "JOIN FETCH b.booker " +
+            "WHERE it.ownerId.id = ?1 " + WINDOW)
+    Slice<Booking> findAllOwnerBookings(Long ownerId,
+                                        LocalDateTime startAfter,
+                                        LocalDateTime startUntil,
+                                        LocalDateTime endFrom,
+                                        LocalDateTime endBefore,
+                                        Collection<BookingStatus> statuses,
+                                        LocalDateTime cursorStart,
+                                        Long cursorId,
+                                        Pageable page);
 
-    @Query("SELECT b " +
+    default Slice<Booking> findAllOwnerBookings(Long ownerId,
+                                                BookingWindow window,
+                                                BookingCursor cursor,
+                                                Pageable page) {
+        return findAllOwnerBookings(ownerId,
+                window.getStartAfter(),
+                window.getStartUntil(),
+                window.getEndFrom(),
+                window.getEndBefore(),
+                window.getStatuses(),
+                cursor.getStart(),
+                cursor.getId(),
+                page);
+    }
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingStateCounts(COUNT(b), " + STATE_COUNTS +
             "FROM Booking AS b " +
             "JOIN b.item AS it " +
-            "WHERE it.ownerId.id = ?1 AND b.status = ?2 " +
-            "ORDER BY b.start DESC ")
-    Page<Booking> findAllOwnerBookingsByStatus(Long ownerId, BookingStatus status, Pageable page);
+            "WHERE it.ownerId.id = ?1")
+    BookingStateCounts countOwnerBookings(Long ownerId,
+                                          LocalDateTime date,
+                                          BookingStatus waiting,
+                                          BookingStatus rejected);
 
     @Query("SELECT b " +
             "FROM Booking AS b " +
-            "JOIN b.item AS it " +
-            "WHERE it.ownerId.id = ?1 AND b.start > ?2 AND it.id = ?3 AND b.status != ?4 " +
-            "ORDER BY b.start ")
-    List<Booking> findItemFutureBooking(Long ownerId, LocalDateTime date, Long itemId, BookingStatus status);
+            "JOIN FETCH b.booker " +
+            "WHERE b.item.id IN ?1 AND b.status != ?3 AND b.start = (" +
+            "SELECT MIN(nb.start) " +
+            "FROM Booking AS nb " +
+            "WHERE nb.item = b.item AND nb.start > ?2 AND nb.status != ?3) ")
+    List<Booking> findItemsNextBookings(List<Long> itemIds, LocalDateTime date, BookingStatus status);
 
     @Query("SELECT b " +
             "FROM Booking AS b " +
-            "JOIN b.item AS it " +
-            "WHERE it.ownerId.id = ?1 AND b.start <= ?2 AND it.id = ?3 AND b.status != ?4 " +
-            "ORDER BY b.end DESC ")
-    List<Booking> findItemPastBooking(Long ownerId, LocalDateTime date, Long itemId, BookingStatus status);
+            "JOIN FETCH b.booker " +
+            "WHERE b.item.id IN ?1 AND b.status != ?3 AND b.start <= ?2 AND b.end = (" +
+            "SELECT MAX(lb.end) " +
+            "FROM Booking AS lb " +
+            "WHERE lb.item = b.item AND lb.start <= ?2 AND lb.status != ?3) ")
+    List<Booking> findItemsLastBookings(List<Long> itemIds, LocalDateTime date, BookingStatus status);
 }
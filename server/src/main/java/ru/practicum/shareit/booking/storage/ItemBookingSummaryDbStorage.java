@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemBookingSummaryDbStorage extends JpaRepository<ItemBookingSummary, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemBookingSummary s where s.itemId in ?1 order by s.itemId")
+    List<ItemBookingSummary> findAllByIdForUpdate(Collection<Long> itemIds);
+
+    @Query("select s.itemId from ItemBookingSummary s where s.rollAt <= ?1 order by s.rollAt")
+    List<Long> findDueItemIds(LocalDateTime date, Pageable pageable);
+}
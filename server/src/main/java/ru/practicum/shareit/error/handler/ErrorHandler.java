@@ -1,6 +1,7 @@
 package ru.practicum.shareit.error.handler;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -25,4 +26,11 @@ public class ErrorHandler {
         log.debug("Получен статус 400 CONFLICT {}", e.getMessage(), e);
         return new ErrorResponse(e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(final OptimisticLockingFailureException e) {
+        log.debug("Получен статус 409 CONFLICT {}", e.getMessage(), e);
+        return new ErrorResponse("Объект был изменён другим запросом, повторите попытку");
+    }
 }
@@ -1,11 +1,16 @@
 package ru.practicum.shareit.item.comment.storage;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.comment.model.Comment;
-import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
 
 public interface CommentDbStorage extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItem(Item item);
+    @Query("SELECT c " +
+            "FROM Comment AS c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.item.id IN ?1 " +
+            "ORDER BY c.created ")
+    List<Comment> findAllByItemIds(List<Long> itemIds);
 }
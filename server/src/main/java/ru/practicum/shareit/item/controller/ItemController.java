@@ -1,12 +1,22 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemTransferService;
 import ru.practicum.shareit.util.ApiPathConstants;
+import ru.practicum.shareit.util.SliceResponse;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -14,29 +24,45 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ItemTransferService itemTransferService;
 
     @PostMapping
     public ItemDto add(@RequestHeader("X-Sharer-User-Id") long userId, @RequestBody ItemDto itemDto) {
         return itemService.add(userId, itemDto);
     }
 
+    @PostMapping(path = ApiPathConstants.IMPORT_PATH, consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResult importItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                        InputStream input) {
+        return itemTransferService.importItems(userId, input);
+    }
+
+    @GetMapping(ApiPathConstants.EXPORT_PATH)
+    public void exportItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        itemTransferService.exportItems(userId, response.getOutputStream());
+    }
+
     @GetMapping(ApiPathConstants.BY_ID_PATH)
     public ItemDto getById(@PathVariable long id, @RequestHeader("X-Sharer-User-Id") long userId) {
         return itemService.getById(id, userId);
     }
 
     @GetMapping
-    public List<ItemDto> getAllUserItems(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @RequestParam(defaultValue = "0") Integer from,
-                                         @RequestParam(defaultValue = "20") Integer size) {
-        return itemService.getAllUserItems(userId, from, size);
+    public ResponseEntity<List<ItemDto>> getAllUserItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                         @RequestParam(defaultValue = "0") Integer from,
+                                                         @RequestParam(defaultValue = "20") Integer size) {
+        return SliceResponse.of(itemService.getAllUserItems(userId, from, size));
     }
 
     @GetMapping(ApiPathConstants.SEARCH_ITEMS_PATH)
-    public List<ItemDto> searchItemsByNameOrDescription(@RequestParam String text,
-                                                        @RequestParam(defaultValue = "0") Integer from,
-                                                        @RequestParam(defaultValue = "20") Integer size) {
-        return itemService.searchItemsByNameOrDescription(text, from, size);
+    public ResponseEntity<List<ItemDto>> searchItemsByNameOrDescription(@RequestParam String text,
+                                                                        @RequestParam(defaultValue = "0") Integer from,
+                                                                        @RequestParam(defaultValue = "20") Integer size) {
+        return SliceResponse.of(itemService.searchItemsByNameOrDescription(text, from, size));
     }
 
     @PatchMapping(ApiPathConstants.BY_ID_PATH)
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemImportError {
+    private long line;
+    private String error;
+}
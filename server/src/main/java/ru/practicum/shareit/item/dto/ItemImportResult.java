@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class ItemImportResult {
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private long imported;
+    private long rejected;
+    private final List<ItemImportError> errors = new ArrayList<>();
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    public void addRejected(long line, String error) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ItemImportError(line, error));
+        }
+    }
+}
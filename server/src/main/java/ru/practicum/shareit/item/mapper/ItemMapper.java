@@ -2,6 +2,8 @@ package ru.practicum.shareit.item.mapper;
 
 import org.mapstruct.Mapper;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShort;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
 
 @Mapper(componentModel = "spring")
@@ -9,4 +11,6 @@ public interface ItemMapper {
     Item toEntity(ItemDto itemDto);
 
     ItemDto toDto(Item item);
+
+    ItemShortDto toShortDto(ItemShort item);
 }
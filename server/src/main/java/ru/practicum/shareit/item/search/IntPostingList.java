@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+class IntPostingList {
+    private int[] docs;
+    private int size;
+
+    IntPostingList() {
+        this(4);
+    }
+
+    private IntPostingList(int capacity) {
+        docs = new int[capacity];
+    }
+
+    void add(int doc) {
+        if (size > 0 && docs[size - 1] == doc) {
+            return;
+        }
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+        }
+        docs[size++] = doc;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return docs[index];
+    }
+
+    IntPostingList intersect(IntPostingList other) {
+        IntPostingList result = new IntPostingList(Math.max(1, Math.min(size, other.size)));
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (docs[i] < other.docs[j]) {
+                i++;
+            } else if (docs[i] > other.docs[j]) {
+                j++;
+            } else {
+                result.add(docs[i]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class InvertedIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final List<ItemDocument> documents = new ArrayList<>();
+    private final Map<Long, Integer> docByItemId = new HashMap<>();
+    private final Map<String, IntPostingList> postings = new HashMap<>();
+    private int removed;
+
+    void put(ItemDocument item) {
+        Integer previous = docByItemId.get(item.getId());
+        if (previous != null) {
+            documents.set(previous, null);
+            removed++;
+        }
+        int doc = documents.size();
+        documents.add(item);
+        docByItemId.put(item.getId(), doc);
+        addGrams(item.getSearchName(), doc);
+        addGrams(item.getSearchDescription(), doc);
+    }
+
+    int size() {
+        return docByItemId.size();
+    }
+
+    boolean needsCompaction() {
+        return removed > docByItemId.size();
+    }
+
+    InvertedIndex compact() {
+        InvertedIndex compacted = new InvertedIndex();
+        for (ItemDocument item : documents) {
+            if (item != null) {
+                compacted.put(item);
+            }
+        }
+        return compacted;
+    }
+
+    List<ItemDocument> find(String query) {
+        List<ItemDocument> found = new ArrayList<>();
+        if (query.length() < GRAM_LENGTH) {
+            for (ItemDocument item : documents) {
+                if (item != null && item.matches(query)) {
+                    found.add(item);
+                }
+            }
+            return found;
+        }
+        IntPostingList candidates = findCandidates(query);
+        for (int i = 0; i < candidates.size(); i++) {
+            ItemDocument item = documents.get(candidates.get(i));
+            if (item != null && item.matches(query)) {
+                found.add(item);
+            }
+        }
+        return found;
+    }
+
+    private IntPostingList findCandidates(String query) {
+        List<IntPostingList> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            IntPostingList list = postings.get(gram);
+            if (list == null) {
+                return new IntPostingList();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntPostingList::size));
+        IntPostingList candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.size() > 0; i++) {
+            candidates = candidates.intersect(lists.get(i));
+        }
+        return candidates;
+    }
+
+    private void addGrams(String text, int doc) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            postings.computeIfAbsent(text.substring(i, i + GRAM_LENGTH), gram -> new IntPostingList())
+                    .add(doc);
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShort;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Locale;
+
+@Getter
+public class ItemDocument implements ItemShort {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+    private final Long requestId;
+    private final String searchName;
+    private final String searchDescription;
+
+    public ItemDocument(Long id, String name, String description, Boolean available, Long requestId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.requestId = requestId;
+        this.searchName = normalize(name);
+        this.searchDescription = normalize(description);
+    }
+
+    public static ItemDocument of(Item item) {
+        return new ItemDocument(item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequestId());
+    }
+
+    public static ItemDocument of(ItemShort item) {
+        return new ItemDocument(item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequestId());
+    }
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    public boolean isNameMatch(String query) {
+        return searchName.contains(query);
+    }
+
+    public boolean matches(String query) {
+        return Boolean.TRUE.equals(available) && (isNameMatch(query) || searchDescription.contains(query));
+    }
+
+    public ItemDto toDto() {
+        return new ItemDto(id, name, description, available, null, null, null, requestId);
+    }
+}
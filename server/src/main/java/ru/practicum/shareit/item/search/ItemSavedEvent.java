@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+public class ItemSavedEvent {
+    private final ItemDocument item;
+
+    public ItemSavedEvent(Item item) {
+        this.item = ItemDocument.of(item);
+    }
+}
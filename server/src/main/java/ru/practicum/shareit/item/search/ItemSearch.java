@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+public interface ItemSearch {
+    Slice<ItemDto> search(String text, Pageable page);
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShort;
+import ru.practicum.shareit.item.storage.ItemDbStorage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class ItemSearchIndex implements ItemSearch {
+    private final ItemDbStorage itemStorage;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex index = new InvertedIndex();
+    private List<ItemDocument> pending;
+
+    @Override
+    public Slice<ItemDto> search(String text, Pageable page) {
+        String query = ItemDocument.normalize(text);
+        List<ItemDocument> found;
+        lock.readLock().lock();
+        try {
+            found = index.find(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+        found.sort(Comparator.comparing((ItemDocument item) -> !item.isNameMatch(query))
+                .thenComparing(ItemDocument::getId));
+        int from = (int) Math.min(page.getOffset(), found.size());
+        int to = Math.min(from + page.getPageSize(), found.size());
+        List<ItemDto> items = found.subList(from, to).stream()
+                .map(ItemDocument::toDto)
+                .collect(Collectors.toList());
+        return new SliceImpl<>(items, page, to < found.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event.getItem());
+            }
+            index.put(event.getItem());
+            if (index.needsCompaction()) {
+                index = index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        InvertedIndex rebuilt = new InvertedIndex();
+        boolean loaded = false;
+        try (Stream<ItemShort> items = itemStorage.streamAllBy()) {
+            items.forEach(item -> rebuilt.put(ItemDocument.of(item)));
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    pending.forEach(rebuilt::put);
+                    index = rebuilt;
+                }
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Item search index rebuilt with {} items", rebuilt.size());
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.storage.ItemDbStorage;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "sql", matchIfMissing = true)
+public class SqlItemSearch implements ItemSearch {
+    private final ItemDbStorage itemStorage;
+    private final ItemMapper mapper;
+
+    @Override
+    public Slice<ItemDto> search(String text, Pageable page) {
+        return itemStorage.search(text, page)
+                .map(mapper::toDto);
+    }
+}
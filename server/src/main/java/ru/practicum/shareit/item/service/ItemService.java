@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -8,11 +9,13 @@ import java.util.List;
 public interface ItemService {
     ItemDto add(long userId, ItemDto itemDto);
 
+    void addAll(long userId, List<ItemDto> itemDtos);
+
     ItemDto getById(long itemId, long userId);
 
-    List<ItemDto> getAllUserItems(long userId, Integer from, Integer size);
+    Slice<ItemDto> getAllUserItems(long userId, Integer from, Integer size);
 
-    List<ItemDto> searchItemsByNameOrDescription(String text, Integer from, Integer size);
+    Slice<ItemDto> searchItemsByNameOrDescription(String text, Integer from, Integer size);
 
     ItemDto update(long userId, long itemId, ItemDto itemDto);
 
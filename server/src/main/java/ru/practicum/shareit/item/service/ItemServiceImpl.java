@@ -1,12 +1,18 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
 import ru.practicum.shareit.booking.storage.BookingDbStorage;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -17,17 +23,22 @@ import ru.practicum.shareit.item.comment.storage.CommentDbStorage;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSavedEvent;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.item.storage.ItemDbStorage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserDbStorage;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("shareit.service")
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
     private final ItemMapper mapper;
@@ -35,17 +46,36 @@ public class ItemServiceImpl implements ItemService {
     private final UserDbStorage userStorage;
     private final BookingDbStorage bookingStorage;
     private final BookingMapper bookingMapper;
+    private final ItemBookingSummaryService summaryService;
     private final CommentDbStorage commentStorage;
     private final CommentMapper commentMapper;
+    private final ItemSearch itemSearch;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public ItemDto add(long userId, ItemDto itemDto) {
-        User user = userStorage.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
+        User user = userStorage.getExistingReference(userId);
         Item item = mapper.toEntity(itemDto);
         item.setOwnerId(user);
-        return mapper.toDto(itemStorage.save(item));
+        Item savedItem = itemStorage.save(item);
+        eventPublisher.publishEvent(new ItemSavedEvent(savedItem));
+        return mapper.toDto(savedItem);
+    }
+
+    @Override
+    @Transactional
+    public void addAll(long userId, List<ItemDto> itemDtos) {
+        User user = userStorage.getExistingReference(userId);
+        List<Item> items = itemDtos.stream()
+                .map(mapper::toEntity)
+                .peek(item -> {
+                    item.setId(null);
+                    item.setOwnerId(user);
+                })
+                .collect(Collectors.toList());
+        itemStorage.saveAll(items)
+                .forEach(item -> eventPublisher.publishEvent(new ItemSavedEvent(item)));
     }
 
     @Override
@@ -55,64 +85,74 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException("Item: Вещь с id=" + itemId +
                         " не найдена в списке всех вещей"));
         if (item.getOwnerId().getId() == userId) {
-            return addBookingsAndComments(item, userId);
+            return addBookingsAndComments(Collections.singletonList(item)).get(0);
         }
-        return addComments(item);
+        return addComments(Collections.singletonList(item)).get(0);
     }
 
     @Override
-    public List<ItemDto> getAllUserItems(long userId, Integer from, Integer size) {
-        User owner = userStorage.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
+    public Slice<ItemDto> getAllUserItems(long userId, Integer from, Integer size) {
+        User owner = userStorage.getExistingReference(userId);
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        return itemStorage.findAllByOwnerIdOrderById(owner, page)
-                .map((Item item) -> addBookingsAndComments(item, userId))
-                .getContent();
+        Slice<Item> items = itemStorage.findAllByOwnerIdOrderById(owner, page);
+        return new SliceImpl<>(addBookingsAndComments(items.getContent()), page, items.hasNext());
     }
 
-    private ItemDto addComments(Item item) {
-        List<CommentDto> itemComments = commentStorage.findAllByItem(item).stream()
-                .map(commentMapper::toDto)
-                .collect(Collectors.toList());
-        ItemDto itemDto = mapper.toDto(item);
-        itemDto.setComments(itemComments.isEmpty() ? new ArrayList<>() : itemComments);
-        return itemDto;
+    private List<ItemDto> addComments(List<Item> items) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<CommentDto>> itemComments = commentStorage.findAllByItemIds(getIds(items)).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toDto, Collectors.toList())));
+        List<ItemDto> itemDtos = new ArrayList<>();
+        for (Item item : items) {
+            ItemDto itemDto = mapper.toDto(item);
+            itemDto.setComments(itemComments.getOrDefault(item.getId(), new ArrayList<>()));
+            itemDtos.add(itemDto);
+        }
+        return itemDtos;
     }
 
-    private ItemDto addBookingsAndComments(Item item, Long userId) {
-        ItemDto itemDto = addComments(item);
-        List<Booking> itemFutureBooking = bookingStorage.findItemFutureBooking(
-                userId,
-                LocalDateTime.now(),
-                item.getId(),
-                BookingStatus.REJECTED);
-        List<Booking> itemPastBooking = bookingStorage.findItemPastBooking(
-                userId,
-                LocalDateTime.now(),
-                item.getId(),
-                BookingStatus.REJECTED);
-        if (!itemFutureBooking.isEmpty()) {
-            itemDto.setNextBooking(bookingMapper.toItemBooking(itemFutureBooking.get(0)));
+    private List<ItemDto> addBookingsAndComments(List<Item> items) {
+        List<ItemDto> itemDtos = addComments(items);
+        if (itemDtos.isEmpty()) {
+            return itemDtos;
         }
-        if (!itemPastBooking.isEmpty()) {
-            itemDto.setLastBooking(bookingMapper.toItemBooking(itemPastBooking.get(0)));
+        Map<Long, ItemBookingSummary> summaries = summaryService.getSummaries(getIds(items));
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            ItemBookingSummary summary = summaries.get(item.getId());
+            if (summary == null) {
+                continue;
+            }
+            ItemDto itemDto = itemDtos.get(i);
+            if (summary.getNextBooking() != null) {
+                itemDto.setNextBooking(bookingMapper.toItemBooking(summary.getNextBooking(), item));
+            }
+            if (summary.getLastBooking() != null) {
+                itemDto.setLastBooking(bookingMapper.toItemBooking(summary.getLastBooking(), item));
+            }
         }
-        return itemDto;
+        return itemDtos;
+    }
+
+    private static List<Long> getIds(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public List<ItemDto> searchItemsByNameOrDescription(String text, Integer from, Integer size) {
+    public Slice<ItemDto> searchItemsByNameOrDescription(String text, Integer from, Integer size) {
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        return itemStorage.search(text, page)
-                .map(mapper::toDto)
-                .getContent();
+        return itemSearch.search(text, page);
     }
 
     @Override
     @Transactional
     public ItemDto update(long userId, long itemId, ItemDto itemDto) {
-        userStorage.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
+        userStorage.checkExists(userId);
         Item updatedItem = itemStorage.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item: Вещь с id=" + itemId +
                         " не найдена в списке всех вещей"));
@@ -120,14 +160,15 @@ public class ItemServiceImpl implements ItemService {
         updatedItem.setName(item.getName() == null ? updatedItem.getName() : item.getName());
         updatedItem.setDescription(item.getDescription() == null ? updatedItem.getDescription() : item.getDescription());
         updatedItem.setAvailable(item.getAvailable() == null ? updatedItem.getAvailable() : item.getAvailable());
-        return mapper.toDto(itemStorage.save(updatedItem));
+        Item savedItem = itemStorage.save(updatedItem);
+        eventPublisher.publishEvent(new ItemSavedEvent(savedItem));
+        return mapper.toDto(savedItem);
     }
 
     @Override
     @Transactional
     public CommentDto add(long userId,long itemId, CommentDto commentDto) {
-        User user = userStorage.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
+        User user = userStorage.getExistingReference(userId);
         Item item = itemStorage.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item: Вещь с id=" + itemId +
                         " не найдена в списке всех вещей"));
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ItemTransferService {
+    ItemImportResult importItems(long userId, InputStream input);
+
+    void exportItems(long userId, OutputStream output);
+}
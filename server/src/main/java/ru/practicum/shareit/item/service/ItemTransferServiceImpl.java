@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemShort;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.storage.ItemDbStorage;
+import ru.practicum.shareit.user.storage.UserDbStorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ItemTransferServiceImpl implements ItemTransferService {
+    private static final int IMPORT_BATCH_SIZE = 500;
+
+    private final ItemService itemService;
+    private final ItemDbStorage itemStorage;
+    private final UserDbStorage userStorage;
+    private final ItemMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ItemImportResult importItems(long userId, InputStream input) {
+        userStorage.checkExists(userId);
+        ItemImportResult result = new ItemImportResult();
+        List<ItemDto> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        long line = 0;
+        try (MappingIterator<ItemDto> items = objectMapper.readerFor(ItemDto.class).readValues(input)) {
+            while (items.hasNextValue()) {
+                ItemDto itemDto = items.nextValue();
+                line = items.getCurrentLocation().getLineNr();
+                String error = validate(itemDto);
+                if (error != null) {
+                    result.addRejected(line, error);
+                    continue;
+                }
+                batch.add(itemDto);
+                if (batch.size() == IMPORT_BATCH_SIZE) {
+                    flush(userId, batch, result);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Item: Некорректная строка импорта после строки " + line +
+                    ", импортировано вещей: " + result.getImported());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flush(userId, batch, result);
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportItems(long userId, OutputStream output) {
+        userStorage.checkExists(userId);
+        try (Stream<ItemShort> items = itemStorage.streamAllByOwnerIdIdOrderById(userId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+            ObjectWriter writer = objectMapper.writerFor(ItemShortDto.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            for (ItemShort item : (Iterable<ItemShort>) items::iterator) {
+                writer.writeValue(generator, mapper.toShortDto(item));
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush(long userId, List<ItemDto> batch, ItemImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        itemService.addAll(userId, batch);
+        result.addImported(batch.size());
+        batch.clear();
+    }
+
+    private static String validate(ItemDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().trim().isEmpty()) {
+            return "Item: Название вещи не может быть пустым";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().trim().isEmpty()) {
+            return "Item: Описание вещи не может быть пустым";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Item: Не указана доступность вещи";
+        }
+        return null;
+    }
+}
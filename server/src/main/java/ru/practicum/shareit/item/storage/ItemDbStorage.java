@@ -1,22 +1,49 @@
 package ru.practicum.shareit.item.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ItemDbStorage extends JpaRepository<Item, Long> {
-    Page<Item> findAllByOwnerIdOrderById(User user, Pageable pageable);
+    Slice<Item> findAllByOwnerIdOrderById(User user, Pageable pageable);
+
+    boolean existsByOwnerId(User user);
 
     @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) and i.available = true" +
-            " or upper(i.description) like upper(concat('%', ?1, '%')) and i.available = true")
-    Page<Item> search(String text, Pageable pageable);
+            "where i.available = true " +
+            "and (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "order by case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end, i.id")
+    Slice<Item> search(String text, Pageable pageable);
 
     List<ItemShort> findAllByRequestIdIn(List<Long> requestIds);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<ItemShort> streamAllBy();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<ItemShort> streamAllByOwnerIdIdOrderById(Long ownerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in ?1 order by i.id")
+    List<Item> findAllByIdForUpdate(Collection<Long> itemIds);
 }
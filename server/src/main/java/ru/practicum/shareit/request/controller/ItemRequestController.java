@@ -1,10 +1,12 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.util.ApiPathConstants;
+import ru.practicum.shareit.util.SliceResponse;
 
 import java.util.List;
 
@@ -26,10 +28,10 @@ public class ItemRequestController {
     }
 
     @GetMapping(ApiPathConstants.ALL_PATH)
-    public List<ItemRequestDto> getAllRequests(@RequestHeader("X-Sharer-User-Id") long userId,
-                                               @RequestParam(defaultValue = "0") Integer from,
-                                               @RequestParam(defaultValue = "20") Integer size) {
-        return itemRequestService.getAllRequests(userId, from, size);
+    public ResponseEntity<List<ItemRequestDto>> getAllRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                               @RequestParam(defaultValue = "0") Integer from,
+                                                               @RequestParam(defaultValue = "20") Integer size) {
+        return SliceResponse.of(itemRequestService.getAllRequests(userId, from, size));
     }
 
     @GetMapping(ApiPathConstants.BY_ID_PATH)
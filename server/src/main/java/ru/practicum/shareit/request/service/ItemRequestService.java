@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -9,7 +10,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getUserRequests(long userId);
 
-    List<ItemRequestDto> getAllRequests(long userId, int from, int size);
+    Slice<ItemRequestDto> getAllRequests(long userId, int from, int size);
 
     ItemRequestDto getById(long userId, long requestId);
 }
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -20,6 +23,7 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("shareit.service")
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserDbStorage userStorage;
     private final ItemDbStorage itemStorage;
@@ -29,8 +33,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public ItemRequestDto add(long userId, ItemRequestDto itemRequestDto) {
-        User requestor = userStorage.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
+        User requestor = userStorage.getExistingReference(userId);
         ItemRequest itemRequest = itemRequestMapper.toEntity(itemRequestDto);
         itemRequest.setRequestor(requestor);
         itemRequest.setCreated(LocalDateTime.now());
@@ -39,27 +42,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> getUserRequests(long userId) {
-        User requestor = userStorage.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
+        User requestor = userStorage.getExistingReference(userId);
         List<ItemRequest> itemRequests = itemRequestStorage.findAllByRequestorOrderByCreatedDesc(requestor);
         return getItemRequestDtoList(itemRequests);
     }
 
     @Override
-    public List<ItemRequestDto> getAllRequests(long userId, int from, int size) {
-        User user = userStorage.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
+    public Slice<ItemRequestDto> getAllRequests(long userId, int from, int size) {
+        User user = userStorage.getExistingReference(userId);
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        List<ItemRequest> itemRequests = itemRequestStorage.findAllByRequestorNotInOrderByCreatedDesc(
-                Collections.singletonList(user), page).getContent();
-        return getItemRequestDtoList(itemRequests);
+        Slice<ItemRequest> itemRequests = itemRequestStorage.findAllByRequestorNotInOrderByCreatedDesc(
+                Collections.singletonList(user), page);
+        return new SliceImpl<>(getItemRequestDtoList(itemRequests.getContent()), page, itemRequests.hasNext());
     }
 
     @Override
     @Transactional
     public ItemRequestDto getById(long userId, long requestId) {
-        userStorage.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
+        userStorage.checkExists(userId);
         ItemRequest request = itemRequestStorage.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("ItemRequest: Запрос с id=" + requestId + " не найден"));
         return getItemRequestDtoList(Collections.singletonList(request)).get(0);
@@ -2,11 +2,13 @@ package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.util.ApiPathConstants;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/users")
@@ -20,7 +22,11 @@ public class UserController {
     }
 
     @GetMapping(ApiPathConstants.BY_ID_PATH)
-    public UserDto getById(@PathVariable int id) {
+    public UserDto getById(@PathVariable int id, WebRequest request) {
+        Optional<String> tag = userService.getEntityTag(id);
+        if (tag.isPresent() && request.checkNotModified(tag.get())) {
+            return null;
+        }
         return userService.getById(id);
     }
 
@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface UserService {
     UserDto add(UserDto userDto);
@@ -13,5 +14,7 @@ public interface UserService {
 
     UserDto update(long userId, UserDto userDto);
 
+    Optional<String> getEntityTag(long userId);
+
     void delete(long userId);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -8,12 +9,15 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserDbStorage;
+import ru.practicum.shareit.util.EntityTag;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("shareit.service")
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserDbStorage userStorage;
@@ -42,15 +46,19 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public UserDto update(long userId, UserDto userDto) {
-        User oldUser = userStorage.findById(userId)
+        User user = userStorage.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User: Пользователь с id=" + userId + " не найден"));
-        User user = userMapper.toEntity(userDto);
-        user.setId(userId);
-        user.setName(user.getName() == null ? oldUser.getName() : user.getName());
-        user.setEmail(user.getEmail() == null ? oldUser.getEmail() : user.getEmail());
+        user.setName(userDto.getName() == null ? user.getName() : userDto.getName());
+        user.setEmail(userDto.getEmail() == null ? user.getEmail() : userDto.getEmail());
         return userMapper.toDto(userStorage.save(user));
     }
 
+    @Override
+    public Optional<String> getEntityTag(long userId) {
+        return userStorage.findVersionById(userId)
+                .map(version -> EntityTag.of("u", userId, version));
+    }
+
     @Override
     @Transactional
     public void delete(long userId) {
@@ -1,7 +1,12 @@
 package ru.practicum.shareit.user.storage;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
-public interface UserDbStorage extends JpaRepository<User, Long> {
+import java.util.Optional;
+
+public interface UserDbStorage extends JpaRepository<User, Long>, UserValidation {
+    @Query("SELECT u.version FROM User AS u WHERE u.id = ?1")
+    Optional<Long> findVersionById(Long userId);
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.user.storage;
+
+import ru.practicum.shareit.user.model.User;
+
+public interface UserValidation {
+    void checkExists(long userId);
+
+    User getExistingReference(long userId);
+}
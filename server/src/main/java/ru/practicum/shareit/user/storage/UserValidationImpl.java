@@ -0,0 +1,60 @@
+package ru.practicum.shareit.user.storage;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.HashSet;
+import java.util.Set;
+
+class UserValidationImpl implements UserValidation {
+    private static final Object VALIDATED_USERS_KEY = UserValidationImpl.class.getName() + ".validatedUsers";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public void checkExists(long userId) {
+        Set<Long> validatedUsers = getValidatedUsers();
+        if (validatedUsers.contains(userId)) {
+            return;
+        }
+        if (!em.getEntityManagerFactory().getCache().contains(User.class, userId) && em.createQuery(
+                        "select u.id from User as u where u.id = :id", Long.class)
+                .setParameter("id", userId)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty()) {
+            throw new NotFoundException("User: Пользователь с id=" + userId + " не найден");
+        }
+        validatedUsers.add(userId);
+    }
+
+    @Override
+    public User getExistingReference(long userId) {
+        checkExists(userId);
+        return em.getReference(User.class, userId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Long> getValidatedUsers() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashSet<>();
+        }
+        Set<Long> validatedUsers = (Set<Long>) TransactionSynchronizationManager.getResource(VALIDATED_USERS_KEY);
+        if (validatedUsers == null) {
+            validatedUsers = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(VALIDATED_USERS_KEY, validatedUsers);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(VALIDATED_USERS_KEY);
+                }
+            });
+        }
+        return validatedUsers;
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfiguration {
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
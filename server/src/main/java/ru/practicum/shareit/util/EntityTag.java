@@ -0,0 +1,15 @@
+package ru.practicum.shareit.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class EntityTag {
+    public static String of(Object... parts) {
+        return Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.Tags;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.booking.model.SearchState;
+
+import javax.servlet.http.HttpServletRequest;
+
+public final class MetricTags {
+    public static final String STATE = "state";
+    private static final String NONE = "none";
+    private static final String UNSUPPORTED = "UNSUPPORTED";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private MetricTags() {
+    }
+
+    public static String state(Object value) {
+        if (value == null) {
+            return NONE;
+        }
+        try {
+            return SearchState.valueOf(value.toString()).name();
+        } catch (IllegalArgumentException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    public static Tags of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return Tags.of("method", request.getMethod(),
+                "uri", pattern == null ? UNKNOWN_URI : pattern.toString(),
+                STATE, state(request.getParameter(STATE)));
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Configuration
+public class MetricsConfiguration {
+    @Bean
+    public ServiceTimingAspect serviceTimingAspect(MeterRegistry registry) {
+        return new ServiceTimingAspect(registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(SqlStatementCounter counter,
+                                                                                       MeterRegistry registry) {
+        FilterRegistrationBean<SqlStatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementMetricsFilter(counter, registry));
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public WebMvcTagsContributor searchStateTagsContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request,
+                                         HttpServletResponse response,
+                                         Object handler,
+                                         Throwable exception) {
+                return Tags.of(MetricTags.STATE, MetricTags.state(request.getParameter(MetricTags.STATE)));
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.util;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+
+import java.util.List;
+import java.util.Locale;
+
+@RequiredArgsConstructor
+public class QueryTracingListener implements QueryExecutionListener {
+    private static final ThreadLocal<Span> QUERY_SPAN = new ThreadLocal<>();
+
+    private final Tracer tracer;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Span parent = tracer.currentSpan();
+        if (parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+            return;
+        }
+        String query = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        Span.Builder span = tracer.spanBuilder()
+                .setParent(parent.context())
+                .kind(Span.Kind.CLIENT)
+                .name(statementType(query))
+                .remoteServiceName(execInfo.getDataSourceName())
+                .tag("jdbc.query", query);
+        if (execInfo.isBatch()) {
+            span.tag("jdbc.batch-size", String.valueOf(execInfo.getBatchSize()));
+        }
+        QUERY_SPAN.set(span.start());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Span span = QUERY_SPAN.get();
+        if (span == null) {
+            return;
+        }
+        QUERY_SPAN.remove();
+        if (execInfo.getThrowable() != null) {
+            span.error(execInfo.getThrowable());
+        }
+        span.end();
+    }
+
+    private static String statementType(String query) {
+        String trimmed = query.trim();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "query" : trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+
+import java.util.Arrays;
+
+@Aspect
+@Order(0) // снаружи транзакции, чтобы в замер попадал commit
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+    private final MeterRegistry registry;
+
+    @Around("@within(timed) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint, Timed timed) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            int state = Arrays.asList(signature.getParameterNames()).indexOf(MetricTags.STATE);
+            sample.stop(Timer.builder(timed.value())
+                    .tag("class", signature.getDeclaringType().getSimpleName())
+                    .tag("method", signature.getName())
+                    .tag(MetricTags.STATE, MetricTags.state(state < 0 ? null : joinPoint.getArgs()[state]))
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.util;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.core.annotation.Order;
+
+import java.util.Arrays;
+
+@Aspect
+@Order(-1) // снаружи таймера и транзакции, чтобы запросы к базе были дочерними span-ами сервиса
+@RequiredArgsConstructor
+public class ServiceTracingAspect {
+    private final Tracer tracer;
+
+    @Around("@within(io.micrometer.core.annotation.Timed) && execution(public * *(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span parent = tracer.currentSpan();
+        // несэмплированные запросы не трогаем, чтобы трассировка почти ничего не стоила при 1%
+        if (parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+            return joinPoint.proceed();
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Span span = tracer.nextSpan(parent)
+                .name(signature.getDeclaringType().getSimpleName() + "." + signature.getName())
+                .start();
+        int state = Arrays.asList(signature.getParameterNames()).indexOf(MetricTags.STATE);
+        if (state >= 0) {
+            span.tag(MetricTags.STATE, MetricTags.state(joinPoint.getArgs()[state]));
+        }
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
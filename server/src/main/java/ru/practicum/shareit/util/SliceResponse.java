@@ -0,0 +1,21 @@
+package ru.practicum.shareit.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+@UtilityClass
+public class SliceResponse {
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
+
+    public static <T> ResponseEntity.BodyBuilder headers(Slice<T> slice) {
+        return ResponseEntity.ok()
+                .header(HAS_NEXT_HEADER, String.valueOf(slice.hasNext()));
+    }
+
+    public static <T> ResponseEntity<List<T>> of(Slice<T> slice) {
+        return headers(slice).body(slice.getContent());
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.util;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class SqlBudgetConfiguration {
+    @Bean
+    public SqlStatementCounter sqlStatementCounter(SqlBudgetProperties budget) {
+        return new SqlStatementCounter(budget);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSource(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, (DataSource) bean);
+                listeners.orderedStream().forEach(builder::listener);
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.sql.budget")
+public class SqlBudgetProperties {
+    private long statements = 10;
+    private Duration time = Duration.ofMillis(200);
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementCounter implements QueryExecutionListener {
+    private static final String APPLICATION_PACKAGE = "ru.practicum.shareit.";
+    private static final String UTIL_PACKAGE = SqlStatementCounter.class.getPackage().getName() + ".";
+    private static final ThreadLocal<Tracking> TRACKING = new ThreadLocal<>();
+
+    private final SqlBudgetProperties budget;
+
+    public void start(String operation) {
+        TRACKING.set(new Tracking(operation));
+    }
+
+    public SqlStatistics stop() {
+        Tracking tracking = TRACKING.get();
+        TRACKING.remove();
+        return tracking == null ? SqlStatistics.EMPTY : tracking.toStatistics();
+    }
+
+    public <T> Measured<T> measure(String operation, Supplier<T> action) {
+        Tracking outer = TRACKING.get();
+        start(operation);
+        try {
+            T result = action.get();
+            return new Measured<>(result, TRACKING.get().toStatistics());
+        } finally {
+            TRACKING.set(outer);
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Tracking tracking = TRACKING.get();
+        if (tracking != null) {
+            tracking.queryStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Tracking tracking = TRACKING.get();
+        if (tracking == null) {
+            return;
+        }
+        tracking.statements++;
+        tracking.nanos += System.nanoTime() - tracking.queryStart;
+        if (!tracking.exceeded && (tracking.statements > budget.getStatements()
+                || tracking.nanos > budget.getTime().toNanos())) {
+            tracking.exceeded = true;
+            log.warn("SQL budget: {} превысил лимит {} запросов / {} мс ({}), вызов из {}: {}",
+                    tracking.operation,
+                    budget.getStatements(),
+                    budget.getTime().toMillis(),
+                    tracking.toStatistics(),
+                    callSite(),
+                    queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery());
+        }
+    }
+
+    private static String callSite() {
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith(APPLICATION_PACKAGE) && !className.startsWith(UTIL_PACKAGE)) {
+                return frame.toString();
+            }
+        }
+        return "unknown";
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Measured<T> {
+        private final T result;
+        private final SqlStatistics statistics;
+    }
+
+    private static class Tracking {
+        private final String operation;
+        private long statements;
+        private long nanos;
+        private long queryStart;
+        private boolean exceeded;
+
+        Tracking(String operation) {
+            this.operation = operation;
+        }
+
+        SqlStatistics toStatistics() {
+            return new SqlStatistics(statements, Duration.ofNanos(nanos));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    public static final String METRIC = "shareit.sql.statements";
+    public static final String TIME_METRIC = "shareit.sql.time";
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        counter.start(request.getMethod() + " " + request.getRequestURI());
+        SqlStatistics statistics = SqlStatistics.EMPTY;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statistics = counter.stop();
+            Tags tags = MetricTags.of(request);
+            DistributionSummary.builder(METRIC)
+                    .baseUnit("statements")
+                    .tags(tags)
+                    .register(registry)
+                    .record(statistics.getStatements());
+            Timer.builder(TIME_METRIC)
+                    .tags(tags)
+                    .register(registry)
+                    .record(statistics.getTime());
+        }
+        if (!response.isCommitted()) {
+            response.setHeader(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+            response.setHeader(TIME_HEADER, String.valueOf(statistics.getTime().toMillis()));
+        }
+    }
+}
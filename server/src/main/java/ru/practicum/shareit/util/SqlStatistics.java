@@ -0,0 +1,20 @@
+package ru.practicum.shareit.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+@Getter
+@RequiredArgsConstructor
+public class SqlStatistics {
+    public static final SqlStatistics EMPTY = new SqlStatistics(0, Duration.ZERO);
+
+    private final long statements;
+    private final Duration time;
+
+    @Override
+    public String toString() {
+        return statements + " statements in " + time.toMillis() + " ms";
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(value = "spring.sleuth.enabled", matchIfMissing = true)
+public class TracingConfiguration {
+    @Bean
+    public ServiceTracingAspect serviceTracingAspect(Tracer tracer) {
+        return new ServiceTracingAspect(tracer);
+    }
+
+    @Bean
+    public QueryTracingListener queryTracingListener(Tracer tracer) {
+        return new QueryTracingListener(tracer);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.tracing", name = "file")
+    public SpanFileHandler spanFileHandler(@Value("${shareit.tracing.file}") Path file) throws IOException {
+        return new SpanFileHandler(file);
+    }
+}
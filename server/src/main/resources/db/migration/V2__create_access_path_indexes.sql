@@ -0,0 +1,15 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date, booking_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date, booking_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, item_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item, created);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC);
@@ -0,0 +1,7 @@
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE items ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE bookings ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE requests ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,46 @@
+CREATE TABLE IF NOT EXISTS item_booking_summary
+(
+    item_id         BIGINT                      NOT NULL,
+    last_booking_id BIGINT,
+    last_start_date TIMESTAMP WITHOUT TIME ZONE,
+    last_end_date   TIMESTAMP WITHOUT TIME ZONE,
+    last_booker_id  BIGINT,
+    last_status     VARCHAR(255),
+    next_booking_id BIGINT,
+    next_start_date TIMESTAMP WITHOUT TIME ZONE,
+    next_end_date   TIMESTAMP WITHOUT TIME ZONE,
+    next_booker_id  BIGINT,
+    next_status     VARCHAR(255),
+    roll_at         TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id),
+    CONSTRAINT fk_item_booking_summary_item
+        FOREIGN KEY (item_id) REFERENCES items (item_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_roll_at ON item_booking_summary (roll_at);
+
+INSERT INTO item_booking_summary (item_id,
+                                  last_booking_id, last_start_date, last_end_date, last_booker_id, last_status,
+                                  next_booking_id, next_start_date, next_end_date, next_booker_id, next_status,
+                                  roll_at)
+SELECT i.item_id,
+       lb.booking_id, lb.start_date, lb.end_date, lb.booker_id, lb.status,
+       nb.booking_id, nb.start_date, nb.end_date, nb.booker_id, nb.status,
+       nb.start_date
+FROM items AS i
+         LEFT JOIN bookings AS lb ON lb.booking_id = (SELECT b.booking_id
+                                                      FROM bookings AS b
+                                                      WHERE b.item_id = i.item_id
+                                                        AND b.status <> 'REJECTED'
+                                                        AND b.start_date <= LOCALTIMESTAMP
+                                                      ORDER BY b.end_date DESC, b.booking_id
+                                                      LIMIT 1)
+         LEFT JOIN bookings AS nb ON nb.booking_id = (SELECT b.booking_id
+                                                      FROM bookings AS b
+                                                      WHERE b.item_id = i.item_id
+                                                        AND b.status <> 'REJECTED'
+                                                        AND b.start_date > LOCALTIMESTAMP
+                                                      ORDER BY b.start_date, b.booking_id
+                                                      LIMIT 1)
+WHERE lb.booking_id IS NOT NULL
+   OR nb.booking_id IS NOT NULL;
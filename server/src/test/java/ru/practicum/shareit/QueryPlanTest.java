@@ -0,0 +1,233 @@
+package ru.practicum.shareit;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.SearchState;
+import ru.practicum.shareit.booking.storage.BookingDbStorage;
+import ru.practicum.shareit.booking.storage.ItemBookingSummaryDbStorage;
+import ru.practicum.shareit.item.comment.storage.CommentDbStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemDbStorage;
+import ru.practicum.shareit.request.storage.ItemRequestDbStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.SqlBudgetConfiguration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+
+// Планы строятся для SQL, который Hibernate действительно отправил в базу при вызове методов репозиториев
+@DataJpaTest
+@Import({SqlBudgetConfiguration.class, QueryPlanTest.RecorderConfiguration.class})
+class QueryPlanTest {
+    private static final Pattern TABLE_SCAN = Pattern.compile("PUBLIC\\.(\\w+)\\.tableScan");
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 0, 0);
+    private static final long USER_ID = 1000005;
+    private static final long ITEM_ID = 1000007;
+    private static final List<Long> ITEM_IDS = Arrays.asList(1000005L, 1000006L, 1000007L);
+    private static final List<Long> REQUEST_IDS = Arrays.asList(1000004L, 1000008L, 1000012L);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private BookingDbStorage bookingStorage;
+
+    @Autowired
+    private ItemBookingSummaryDbStorage summaryStorage;
+
+    @Autowired
+    private ItemDbStorage itemStorage;
+
+    @Autowired
+    private CommentDbStorage commentStorage;
+
+    @Autowired
+    private ItemRequestDbStorage requestStorage;
+
+    @BeforeEach
+    void seed() {
+        execute("INSERT INTO users (user_id, name, email) " +
+                "SELECT x, 'user' || x, 'user' || x || '@plan.ru' FROM SYSTEM_RANGE(1000001, 1002000)");
+        execute("INSERT INTO requests (request_id, description, requestor_id, created) " +
+                "SELECT x, 'request' || x, MOD(x, 2000) + 1000001, " +
+                "DATEADD('MINUTE', x, TIMESTAMP '2023-01-01 00:00:00') FROM SYSTEM_RANGE(1000001, 1010000)");
+        execute("INSERT INTO items (item_id, name, description, available, owner_id, request_id) " +
+                "SELECT x, 'item' || x, 'description' || x, TRUE, MOD(x, 2000) + 1000001, " +
+                "CASE WHEN MOD(x, 4) = 0 THEN MOD(x, 10000) + 1000001 END FROM SYSTEM_RANGE(1000001, 1020000)");
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', x, TIMESTAMP '2023-01-01 00:00:00'), " +
+                "DATEADD('HOUR', x + 2, TIMESTAMP '2023-01-01 00:00:00'), MOD(x, 20000) + 1000001, " +
+                "MOD(x * 7, 2000) + 1000001, CASE MOD(x, 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' " +
+                "ELSE 'REJECTED' END FROM SYSTEM_RANGE(1, 50000)");
+        execute("INSERT INTO comments (text, item, author, created) " +
+                "SELECT 'comment' || x, MOD(x, 20000) + 1000001, MOD(x * 3, 2000) + 1000001, " +
+                "DATEADD('MINUTE', x, TIMESTAMP '2023-01-01 00:00:00') FROM SYSTEM_RANGE(1, 20000)");
+        execute("INSERT INTO item_booking_summary (item_id, next_start_date, roll_at) " +
+                "SELECT x, DATEADD('HOUR', x, TIMESTAMP '2023-01-01 00:00:00'), " +
+                "DATEADD('HOUR', x, TIMESTAMP '2023-01-01 00:00:00') FROM SYSTEM_RANGE(1000001, 1020000)");
+        execute("ANALYZE");
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        List<String> failures = new ArrayList<>();
+
+        for (Map.Entry<String, Runnable> call : repositoryCalls().entrySet()) {
+            List<QueryInfo> queries = recorder.record(call.getValue());
+            assertThat(call.getKey() + " не выполнил ни одного запроса", queries, not(empty()));
+
+            for (QueryInfo query : queries) {
+                String plan = explain(query);
+                Matcher matcher = TABLE_SCAN.matcher(plan);
+
+                while (matcher.find()) {
+                    failures.add(call.getKey() + ": " + matcher.group(1) + " tableScan\n" + plan);
+                }
+            }
+        }
+
+        assertThat(failures, empty());
+    }
+
+    private Map<String, Runnable> repositoryCalls() {
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        User user = em.getEntityManager().getReference(User.class, USER_ID);
+        Item item = em.getEntityManager().getReference(Item.class, ITEM_ID);
+        PageRequest page = PageRequest.of(0, 10);
+        EnumSet<BookingStatus> active = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        for (SearchState state : SearchState.values()) {
+            calls.put("BookingDbStorage.findAllUserBookings " + state, () -> bookingStorage
+                    .findAllUserBookings(USER_ID, state.window(NOW), BookingCursor.FIRST, page));
+            calls.put("BookingDbStorage.findAllOwnerBookings " + state, () -> bookingStorage
+                    .findAllOwnerBookings(USER_ID, state.window(NOW), BookingCursor.FIRST, page));
+        }
+        calls.put("BookingDbStorage.countUserBookings", () -> bookingStorage
+                .countUserBookings(USER_ID, NOW, BookingStatus.WAITING, BookingStatus.REJECTED));
+        calls.put("BookingDbStorage.countOwnerBookings", () -> bookingStorage
+                .countOwnerBookings(USER_ID, NOW, BookingStatus.WAITING, BookingStatus.REJECTED));
+        calls.put("BookingDbStorage.findAllByBookerAndItemAndStatusIsNotAndStartBefore", () -> bookingStorage
+                .findAllByBookerAndItemAndStatusIsNotAndStartBefore(user, item, BookingStatus.REJECTED, NOW));
+        calls.put("BookingDbStorage.findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter", () -> bookingStorage
+                .findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter(Collections.singleton(ITEM_ID), active,
+                        NOW.plusDays(1), NOW));
+        calls.put("BookingDbStorage.existsByItemIdAndStatusInAndStartBeforeAndEndAfter", () -> bookingStorage
+                .existsByItemIdAndStatusInAndStartBeforeAndEndAfter(ITEM_ID, active, NOW.plusDays(1), NOW));
+        calls.put("BookingDbStorage.existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter", () -> bookingStorage
+                .existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(ITEM_ID, 11L, BookingStatus.APPROVED,
+                        NOW.plusDays(1), NOW));
+        calls.put("BookingDbStorage.findItemsNextBookings", () -> bookingStorage
+                .findItemsNextBookings(ITEM_IDS, NOW, BookingStatus.REJECTED));
+        calls.put("BookingDbStorage.findItemsLastBookings", () -> bookingStorage
+                .findItemsLastBookings(ITEM_IDS, NOW, BookingStatus.REJECTED));
+        calls.put("ItemBookingSummaryDbStorage.findAllById", () -> summaryStorage.findAllById(ITEM_IDS));
+        calls.put("ItemBookingSummaryDbStorage.findAllByIdForUpdate", () -> summaryStorage
+                .findAllByIdForUpdate(ITEM_IDS));
+        calls.put("ItemBookingSummaryDbStorage.findDueItemIds", () -> summaryStorage
+                .findDueItemIds(LocalDateTime.of(2023, 1, 2, 0, 0), PageRequest.of(0, 500)));
+        calls.put("ItemDbStorage.findAllByOwnerIdOrderById", () -> itemStorage.findAllByOwnerIdOrderById(user, page));
+        calls.put("ItemDbStorage.existsByOwnerId", () -> itemStorage.existsByOwnerId(user));
+        calls.put("ItemDbStorage.findAllByRequestIdIn", () -> itemStorage.findAllByRequestIdIn(REQUEST_IDS));
+        calls.put("ItemDbStorage.findAllByIdForUpdate", () -> itemStorage.findAllByIdForUpdate(ITEM_IDS));
+        calls.put("ItemDbStorage.streamAllByOwnerIdIdOrderById", () -> {
+            try (Stream<?> items = itemStorage.streamAllByOwnerIdIdOrderById(USER_ID)) {
+                items.forEach(itemShort -> { });
+            }
+        });
+        calls.put("CommentDbStorage.findAllByItemIds", () -> commentStorage.findAllByItemIds(ITEM_IDS));
+        calls.put("ItemRequestDbStorage.findAllByRequestorOrderByCreatedDesc", () -> requestStorage
+                .findAllByRequestorOrderByCreatedDesc(user));
+        calls.put("ItemRequestDbStorage.findAllByRequestorNotInOrderByCreatedDesc", () -> requestStorage
+                .findAllByRequestorNotInOrderByCreatedDesc(Collections.singletonList(user), page));
+        return calls;
+    }
+
+    // Повторяет привязку параметров, записанную datasource-proxy, на EXPLAIN того же запроса
+    private String explain(QueryInfo query) {
+        return em.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.getQuery())) {
+                if (!query.getParametersList().isEmpty()) {
+                    for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+                        operation.getMethod().invoke(statement, operation.getArgs());
+                    }
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Не удалось привязать параметры запроса " + query.getQuery(), e);
+            }
+        });
+    }
+
+    private void execute(String sql) {
+        em.getEntityManager().createNativeQuery(sql).executeUpdate();
+    }
+
+    static class StatementRecorder implements QueryExecutionListener {
+        private List<QueryInfo> recorded;
+
+        List<QueryInfo> record(Runnable call) {
+            recorded = new ArrayList<>();
+            try {
+                call.run();
+                return recorded;
+            } finally {
+                recorded = null;
+            }
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (recorded != null) {
+                recorded.addAll(queryInfoList);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class RecorderConfiguration {
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+}
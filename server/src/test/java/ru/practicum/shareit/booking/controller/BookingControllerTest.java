@@ -6,25 +6,36 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.SliceResponse;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,11 +50,8 @@ class BookingControllerTest {
 
     @Autowired
     private MockMvc mvc;
-    private final User owner = new User(1L, "Ivan", "iv@mail.ru");
-    private final User booker = new User(2L, "Eva", "eva@mail.ru");
-    private final Item item = new Item(1L, "черенок", "отличный черенок", true,
-            owner,
-            null);
+    private final UserDto booker = new UserDto(2L, "Eva", "eva@mail.ru");
+    private final ItemShortDto item = new ItemShortDto(1L, "черенок", "отличный черенок", true, null);
 
     private final BookingDtoOut bookingDtoOut = new BookingDtoOut(1L,
             LocalDateTime.now().plusDays(1L),
@@ -117,10 +125,39 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(bookingDtoOut.getStatus().toString())));
     }
 
+    @Test
+    void getBookingNotModified() throws Exception {
+        when(bookingService.getEntityTag(anyLong(), anyLong())).thenReturn(Optional.of("\"b-1-2-i-0-u-1\""));
+
+        mvc.perform(get("/bookings/1")
+                        .header("X-Sharer-User-Id", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"b-1-2-i-0-u-1\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"b-1-2-i-0-u-1\""))
+                .andExpect(content().string(""));
+
+        verify(bookingService, never()).getBooking(anyLong(), anyLong());
+    }
+
+    @Test
+    void getBookingWithStaleTag() throws Exception {
+        when(bookingService.getEntityTag(anyLong(), anyLong())).thenReturn(Optional.of("\"b-1-3-i-0-u-1\""));
+        when(bookingService.getBooking(anyLong(), anyLong())).thenReturn(bookingDtoOut);
+
+        mvc.perform(get("/bookings/1")
+                        .header("X-Sharer-User-Id", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"b-1-2-i-0-u-1\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"b-1-3-i-0-u-1\""))
+                .andExpect(jsonPath("$.id", is(bookingDtoOut.getId()), Long.class));
+    }
+
     @Test
     void getAllUserBookings() throws Exception {
-        when(bookingService.getAllUserBookings(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(Collections.singletonList(bookingDtoOut));
+        when(bookingService.getAllUserBookings(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(bookingDtoOut)));
 
         mvc.perform(get("/bookings")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -139,8 +176,8 @@ class BookingControllerTest {
 
     @Test
     void getAllOwnerBookings() throws Exception {
-        when(bookingService.getAllOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(Collections.singletonList(bookingDtoOut));
+        when(bookingService.getAllOwnerBookings(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(bookingDtoOut)));
 
         mvc.perform(get("/bookings/owner")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -156,4 +193,42 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].booker.name", is(bookingDtoOut.getBooker().getName())))
                 .andExpect(jsonPath("$[0].status", is(bookingDtoOut.getStatus().toString())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllOwnerBookingsWithNextCursor() throws Exception {
+        when(bookingService.getAllOwnerBookings(anyLong(), anyString(), anyInt(), anyInt(),
+                eq("2200-10-15T10:20,5")))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(bookingDtoOut), PageRequest.of(0, 1), true));
+
+        mvc.perform(get("/bookings/owner")
+                        .param("size", "1")
+                        .param("after", "2200-10-15T10:20,5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SliceResponse.HAS_NEXT_HEADER, "true"))
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER,
+                        BookingCursor.of(bookingDtoOut).toString()))
+                .andExpect(jsonPath("$[0].id", is(bookingDtoOut.getId()), Long.class));
+    }
+
+    @Test
+    void countOwnerBookings() throws Exception {
+        when(bookingService.countOwnerBookings(anyLong())).thenReturn(new BookingStateCounts(5L, 2L, 1L, 2L, 2L, null));
+
+        mvc.perform(get("/bookings/owner/stats")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all", is(5)))
+                .andExpect(jsonPath("$.current", is(2)))
+                .andExpect(jsonPath("$.past", is(1)))
+                .andExpect(jsonPath("$.future", is(2)))
+                .andExpect(jsonPath("$.waiting", is(2)))
+                .andExpect(jsonPath("$.rejected", is(0)));
+
+        verify(bookingService).countOwnerBookings(1L);
+        verify(bookingService, never()).getBooking(anyLong(), anyLong());
+    }
+}
@@ -6,8 +6,8 @@ import org.springframework.boot.test.autoconfigure.json.JsonTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.json.JsonContent;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 
@@ -20,11 +20,8 @@ class BookingDtoOutTest {
 
     @Test
     void testBookingDtoOut() throws Exception {
-        User owner = new User(1L, "Ivan", "iv@mail.ru");
-        User booker = new User(2L, "Eva", "eva@mail.ru");
-        Item item = new Item(1L, "черенок", "отличный черенок", true,
-                owner,
-                null);
+        UserDto booker = new UserDto(2L, "Eva", "eva@mail.ru");
+        ItemShortDto item = new ItemShortDto(1L, "черенок", "отличный черенок", true, null);
         BookingDtoOut bookingDtoOut = new BookingDtoOut(1L,
                 LocalDateTime.of(2200, 10, 15, 10, 20),
                 LocalDateTime.of(2200, 10, 17, 10, 20),
@@ -38,5 +35,7 @@ class BookingDtoOutTest {
         assertThat(result).extractingJsonPathStringValue("$.start").isEqualTo("2200-10-15T10:20:00");
         assertThat(result).extractingJsonPathStringValue("$.end").isEqualTo("2200-10-17T10:20:00");
         assertThat(result).extractingJsonPathStringValue("$.status").isEqualTo("WAITING");
+        assertThat(result).extractingJsonPathStringValue("$.item.name").isEqualTo("черенок");
+        assertThat(result).extractingJsonPathStringValue("$.booker.name").isEqualTo("Eva");
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceImplClockTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @TestConfiguration
+    static class FixedClockConfiguration {
+        @Bean
+        @Primary
+        Clock fixedClock() {
+            ZoneId zone = ZoneId.systemDefault();
+            return Clock.fixed(NOW.atZone(zone).toInstant(), zone);
+        }
+    }
+
+    @Autowired
+    private BookingService bookingService;
+    private final EntityManager em;
+
+    @Test
+    void statesUseSingleInstantAndCountsMatchLists() {
+        User owner = new User(null, "Ivan", "clock-owner@mail.ru");
+        User booker = new User(null, "Eva", "clock-booker@mail.ru");
+        em.persist(owner);
+        em.persist(booker);
+        Item item = new Item(null, "черенок", "отличный черенок", true, owner, null);
+        em.persist(item);
+        Booking past = new Booking(null, NOW.minusDays(2L), NOW.minusDays(1L), item, booker, BookingStatus.APPROVED);
+        Booking endsNow = new Booking(null, NOW.minusDays(1L), NOW, item, booker, BookingStatus.APPROVED);
+        Booking startsNow = new Booking(null, NOW, NOW.plusDays(1L), item, booker, BookingStatus.WAITING);
+        Booking future = new Booking(null, NOW.plusDays(2L), NOW.plusDays(3L), item, booker, BookingStatus.REJECTED);
+        em.persist(past);
+        em.persist(endsNow);
+        em.persist(startsNow);
+        em.persist(future);
+        em.flush();
+
+        assertThat(userBookingIds(booker, "PAST"), contains(past.getId()));
+        assertThat(userBookingIds(booker, "CURRENT"), containsInAnyOrder(endsNow.getId(), startsNow.getId()));
+        assertThat(userBookingIds(booker, "FUTURE"), contains(future.getId()));
+        assertThat(ownerBookingIds(owner, "CURRENT"), containsInAnyOrder(endsNow.getId(), startsNow.getId()));
+        assertThat(ownerBookingIds(owner, "REJECTED"), contains(future.getId()));
+
+        BookingStateCounts counts = bookingService.countUserBookings(booker.getId());
+
+        assertThat(counts.getAll(), equalTo((long) userBookingIds(booker, "ALL").size()));
+        assertThat(counts.getCurrent(), equalTo(2L));
+        assertThat(counts.getPast(), equalTo(1L));
+        assertThat(counts.getFuture(), equalTo(1L));
+        assertThat(counts.getWaiting(), equalTo(1L));
+        assertThat(counts.getRejected(), equalTo(1L));
+        assertThat(bookingService.countOwnerBookings(owner.getId()).getCurrent(), equalTo(2L));
+    }
+
+    @Test
+    void unknownStateIsRejected() {
+        User booker = new User(null, "Eva", "clock-state@mail.ru");
+        em.persist(booker);
+        em.flush();
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                bookingService.getAllUserBookings(booker.getId(), "current", 0, 20, null));
+
+        assertThat(exception.getMessage(), equalTo("Unknown state: UNSUPPORTED_STATUS"));
+    }
+
+    private List<Long> userBookingIds(User booker, String state) {
+        return bookingService.getAllUserBookings(booker.getId(), state, 0, 20, null).stream()
+                .map(BookingDtoOut::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> ownerBookingIds(User owner, String state) {
+        return bookingService.getAllOwnerBookings(owner.getId(), state, 0, 20, null).stream()
+                .map(BookingDtoOut::getId)
+                .collect(Collectors.toList());
+    }
+}
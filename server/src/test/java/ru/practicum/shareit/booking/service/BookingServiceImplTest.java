@@ -1,13 +1,18 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
@@ -18,11 +23,15 @@ import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -145,6 +154,78 @@ class BookingServiceImplTest {
         assertEquals("Item: Вещь недоступна для бронирования", exception.getMessage());
     }
 
+    @Test
+    void addThrowOverlapException() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        User user = new User(null, "Eva", "eva@mail.ru");
+        User user1 = new User(null, "Petr", "petr@mail.ru");
+
+        em.persist(owner);
+        em.persist(user);
+        em.persist(user1);
+
+        Item item = new Item(null, "черенок", "отличный черенок", true, owner, null);
+
+        em.persist(item);
+
+        Booking booking = new Booking(null,
+                LocalDateTime.now().plusDays(1L),
+                LocalDateTime.now().plusDays(3L),
+                item,
+                user,
+                BookingStatus.APPROVED);
+
+        em.persist(booking);
+        em.flush();
+
+        BookingDtoIn bookingDtoIn = new BookingDtoIn(null,
+                LocalDateTime.now().plusDays(2L),
+                LocalDateTime.now().plusDays(4L),
+                item.getId(),
+                null, null);
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                bookingService.add(user1.getId(), bookingDtoIn));
+
+        assertEquals("Booking: Вещь уже забронирована на указанные даты", exception.getMessage());
+    }
+
+    @Test
+    void addAfterRejectedBooking() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        User user = new User(null, "Eva", "eva@mail.ru");
+        User user1 = new User(null, "Petr", "petr@mail.ru");
+
+        em.persist(owner);
+        em.persist(user);
+        em.persist(user1);
+
+        Item item = new Item(null, "черенок", "отличный черенок", true, owner, null);
+
+        em.persist(item);
+
+        Booking booking = new Booking(null,
+                LocalDateTime.now().plusDays(1L),
+                LocalDateTime.now().plusDays(3L),
+                item,
+                user,
+                BookingStatus.REJECTED);
+
+        em.persist(booking);
+        em.flush();
+
+        BookingDtoIn bookingDtoIn = new BookingDtoIn(null,
+                LocalDateTime.now().plusDays(2L),
+                LocalDateTime.now().plusDays(4L),
+                item.getId(),
+                null, null);
+
+        BookingDtoOut bookingDtoOut = bookingService.add(user1.getId(), bookingDtoIn);
+
+        assertThat(bookingDtoOut.getId(), notNullValue());
+        assertThat(bookingDtoOut.getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
     @Test
     void changeBookingStatusApprove() {
         User owner = new User(null, "Ivan", "iv@mail.ru");
@@ -252,6 +333,41 @@ class BookingServiceImplTest {
         assertThat(bookingDtoOut.getStatus(), equalTo(BookingStatus.REJECTED));
     }
 
+    @Test
+    void changeBookingStatusApproveThrowOverlapException() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        User user = new User(null, "Eva", "eva@mail.ru");
+
+        em.persist(owner);
+        em.persist(user);
+
+        Item item = new Item(null, "черенок", "отличный черенок", true, owner, null);
+
+        em.persist(item);
+
+        Booking approved = new Booking(null,
+                LocalDateTime.now().plusDays(1L),
+                LocalDateTime.now().plusDays(3L),
+                item,
+                user,
+                BookingStatus.APPROVED);
+        Booking waiting = new Booking(null,
+                LocalDateTime.now().plusDays(2L),
+                LocalDateTime.now().plusDays(4L),
+                item,
+                user,
+                BookingStatus.WAITING);
+
+        em.persist(approved);
+        em.persist(waiting);
+        em.flush();
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                bookingService.changeBookingStatus(owner.getId(), waiting.getId(), true));
+
+        assertEquals("Booking: Вещь уже забронирована на указанные даты", exception.getMessage());
+    }
+
     @Test
     void changeBookingStatusAgain() {
         User owner = new User(null, "Ivan", "iv@mail.ru");
@@ -389,7 +505,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllUserBookings(booker.getId(),
                 "ALL",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -441,7 +558,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllUserBookings(booker.getId(),
                 "FUTURE",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -493,7 +611,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllUserBookings(booker.getId(),
                 "PAST",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -545,7 +664,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllUserBookings(booker.getId(),
                 "CURRENT",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -597,7 +717,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllUserBookings(booker.getId(),
                 "WAITING",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -649,7 +770,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllUserBookings(booker.getId(),
                 "REJECTED",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -663,6 +785,55 @@ class BookingServiceImplTest {
         assertThat(bookingDtoOut.get(0).getStatus(), equalTo(BookingStatus.REJECTED));
     }
 
+    @Test
+    void getAllUserBookingsAfterCursor() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        User booker = new User(null, "Eva", "eva@mail.ru");
+
+        em.persist(owner);
+        em.persist(booker);
+
+        Item item = new Item(null, "черенок", "отличный черенок", true, owner, null);
+
+        em.persist(item);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = new Booking(null, start.plusDays(2L), start.plusDays(3L), item, booker,
+                BookingStatus.WAITING);
+        Booking second = new Booking(null, start, start.plusDays(1L), item, booker, BookingStatus.WAITING);
+        Booking third = new Booking(null, start, start.plusDays(1L), item, booker, BookingStatus.WAITING);
+
+        em.persist(first);
+        em.persist(second);
+        em.persist(third);
+        em.flush();
+
+        List<BookingDtoOut> firstPage = bookingService.getAllUserBookings(booker.getId(), "ALL", 0, 2, null).getContent();
+
+        assertThat(firstPage, hasSize(2));
+        assertThat(firstPage.get(0).getId(), equalTo(first.getId()));
+        assertThat(firstPage.get(1).getId(), equalTo(third.getId()));
+
+        List<BookingDtoOut> secondPage = bookingService.getAllUserBookings(booker.getId(), "ALL", 0, 2,
+                BookingCursor.of(firstPage.get(1)).toString()).getContent();
+
+        assertThat(secondPage, hasSize(1));
+        assertThat(secondPage.get(0).getId(), equalTo(second.getId()));
+    }
+
+    @Test
+    void getAllUserBookingsThrowCursorException() {
+        User booker = new User(null, "Eva", "eva@mail.ru");
+
+        em.persist(booker);
+        em.flush();
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                bookingService.getAllUserBookings(booker.getId(), "ALL", 0, 20, "yesterday"));
+
+        assertEquals("Booking: Некорректный курсор yesterday", exception.getMessage());
+    }
+
     @Test
     void getAllOwnerBookings() {
         User owner = new User(null, "Ivan", "iv@mail.ru");
@@ -701,7 +872,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllOwnerBookings(ownerDb.getId(),
                 "ALL",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -753,7 +925,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllOwnerBookings(ownerDb.getId(),
                 "FUTURE",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -805,7 +978,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllOwnerBookings(ownerDb.getId(),
                 "PAST",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -857,7 +1031,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllOwnerBookings(ownerDb.getId(),
                 "CURRENT",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -909,7 +1084,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllOwnerBookings(ownerDb.getId(),
                 "WAITING",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -961,7 +1137,8 @@ class BookingServiceImplTest {
         List<BookingDtoOut> bookingDtoOut = bookingService.getAllOwnerBookings(ownerDb.getId(),
                 "REJECTED",
                 0,
-                20);
+                20,
+                null).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -974,4 +1151,84 @@ class BookingServiceImplTest {
                 equalTo(booker.getId()));
         assertThat(bookingDtoOut.get(0).getStatus(), equalTo(BookingStatus.REJECTED));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllUserBookingsChecksUserOncePerTransaction() {
+        User user = new User(null, "Eva", "eva@mail.ru");
+
+        em.persist(user);
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        bookingService.getAllUserBookings(user.getId(), "ALL", 0, 10, null);
+
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+
+        statistics.clear();
+
+        bookingService.getAllUserBookings(user.getId(), "WAITING", 0, 10, null);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void addAllReportsResultPerElementAndBatchesInserts() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        User user = new User(null, "Eva", "eva@mail.ru");
+        em.persist(owner);
+        em.persist(user);
+        Item item = new Item(null, "черенок", "отличный черенок", true, owner, null);
+        Item unavailableItem = new Item(null, "лопата", "сломанная лопата", false, owner, null);
+        em.persist(item);
+        em.persist(unavailableItem);
+        em.flush();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.MICROS);
+        List<BookingDtoIn> bookingDtoIns = Arrays.asList(
+                new BookingDtoIn(null, start, start.plusDays(1L), item.getId(), null, null),
+                new BookingDtoIn(null, start, start.plusDays(1L), unavailableItem.getId(), null, null),
+                new BookingDtoIn(null, start, start.plusDays(1L), 0L, null, null),
+                new BookingDtoIn(null, start.plusDays(2L), start.plusDays(3L), item.getId(), null, null),
+                new BookingDtoIn(null, start.plusHours(12L), start.plusDays(2L), item.getId(), null, null));
+
+        List<BookingBatchResult> results = bookingService.addAll(user.getId(), bookingDtoIns);
+
+        assertThat(results, hasSize(5));
+        assertThat(results.get(0).getStatus(), equalTo(201));
+        assertThat(results.get(0).getBooking().getId(), notNullValue());
+        assertThat(results.get(0).getBooking().getStatus(), equalTo(BookingStatus.WAITING));
+        assertThat(results.get(1).getStatus(), equalTo(400));
+        assertThat(results.get(1).getError(), equalTo("Item: Вещь недоступна для бронирования"));
+        assertThat(results.get(2).getStatus(), equalTo(404));
+        assertThat(results.get(3).getStatus(), equalTo(201));
+        assertThat(results.get(3).getBooking().getStart(), equalTo(start.plusDays(2L)));
+        assertThat(results.get(4).getStatus(), equalTo(400));
+        assertThat(results.get(4).getError(), equalTo("Booking: Вещь уже забронирована на указанные даты"));
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        em.flush();
+
+        // Два бронирования одним батчем и сводка по вещи
+        assertThat(statistics.getEntityInsertCount(), equalTo(3L));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+        assertThat(em.find(ItemBookingSummary.class, item.getId()).getNextBooking().getBookingId(),
+                equalTo(results.get(0).getBooking().getId()));
+    }
+
+    @Test
+    void addAllThrowEmptyListException() {
+        User user = new User(null, "Eva", "eva@mail.ru");
+        em.persist(user);
+        em.flush();
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                bookingService.addAll(user.getId(), Collections.emptyList()));
+
+        assertEquals("Booking: Список бронирований пуст", exception.getMessage());
+    }
+}
@@ -0,0 +1,191 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+
+@Transactional
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemBookingSummaryServiceImplTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemBookingSummaryService summaryService;
+    @Autowired
+    private ScheduledTaskHolder scheduledTasks;
+    private final EntityManager em;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    private void createItem(String name) {
+        owner = new User(null, "Ivan", name + "-owner@mail.ru");
+        booker = new User(null, "Eva", name + "-booker@mail.ru");
+        em.persist(owner);
+        em.persist(booker);
+        item = new Item(null, name, "отличный " + name, true, owner, null);
+        em.persist(item);
+        em.flush();
+    }
+
+    private BookingDtoOut book(LocalDateTime start, LocalDateTime end) {
+        return bookingService.add(booker.getId(), new BookingDtoIn(null, start, end, item.getId(), null, null));
+    }
+
+    private ItemBookingSummary findSummary() {
+        em.flush();
+        em.clear();
+        return em.find(ItemBookingSummary.class, item.getId());
+    }
+
+    @Test
+    void addKeepsEarliestFutureBookingAsNext() {
+        createItem("summary-next");
+        book(now.plusDays(5), now.plusDays(6));
+        BookingDtoOut earliest = book(now.plusDays(1), now.plusDays(2));
+        book(now.plusDays(3), now.plusDays(4));
+
+        ItemBookingSummary summary = findSummary();
+
+        assertThat(summary.getNextBooking().getBookingId(), equalTo(earliest.getId()));
+        assertThat(summary.getNextBooking().getBookerId(), equalTo(booker.getId()));
+        assertThat(summary.getRollAt(), equalTo(earliest.getStart()));
+        assertThat(summary.getLastBooking(), nullValue());
+    }
+
+    @Test
+    void addKeepsLatestEndedStartedBookingAsLast() {
+        createItem("summary-last");
+        book(now.minusDays(6), now.minusDays(5));
+        BookingDtoOut latest = book(now.minusDays(2), now.minusDays(1));
+        book(now.minusDays(4), now.minusDays(3));
+
+        ItemBookingSummary summary = findSummary();
+
+        assertThat(summary.getLastBooking().getBookingId(), equalTo(latest.getId()));
+        assertThat(summary.getNextBooking(), nullValue());
+        assertThat(summary.getRollAt(), nullValue());
+    }
+
+    @Test
+    void approveUpdatesSnapshotStatus() {
+        createItem("summary-approve");
+        BookingDtoOut next = book(now.plusDays(1), now.plusDays(2));
+
+        bookingService.changeBookingStatus(owner.getId(), next.getId(), true);
+
+        assertThat(findSummary().getNextBooking().getStatus(), equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void rejectNextBookingFallsBackToFollowingOne() {
+        createItem("summary-reject");
+        BookingDtoOut next = book(now.plusDays(1), now.plusDays(2));
+        BookingDtoOut following = book(now.plusDays(3), now.plusDays(4));
+
+        bookingService.changeBookingStatus(owner.getId(), next.getId(), false);
+
+        ItemBookingSummary summary = findSummary();
+        assertThat(summary.getNextBooking().getBookingId(), equalTo(following.getId()));
+        assertThat(summary.getRollAt(), equalTo(following.getStart()));
+    }
+
+    @Test
+    void rejectOnlyBookingRemovesSummary() {
+        createItem("summary-empty");
+        BookingDtoOut next = book(now.plusDays(1), now.plusDays(2));
+
+        bookingService.changeBookingStatus(owner.getId(), next.getId(), false);
+
+        assertThat(findSummary(), nullValue());
+    }
+
+    @Test
+    void rollDueMovesStartedBookingToLast() {
+        Booking started = createStartedNextBooking("summary-roll");
+
+        summaryService.rollDue(Integer.MAX_VALUE);
+
+        ItemBookingSummary summary = findSummary();
+        assertThat(summary.getLastBooking().getBookingId(), equalTo(started.getId()));
+        assertThat(summary.getNextBooking(), nullValue());
+        assertThat(summary.getRollAt(), nullValue());
+    }
+
+    @Test
+    void getSummariesRecomputesDueSummaryWithoutRolling() {
+        Booking started = createStartedNextBooking("summary-stale");
+
+        ItemBookingSummary summary = summaryService.getSummaries(Collections.singletonList(item.getId()))
+                .get(item.getId());
+
+        assertThat(summary.getLastBooking().getBookingId(), equalTo(started.getId()));
+        assertThat(summary.getNextBooking(), nullValue());
+        ItemBookingSummary stored = findSummary();
+        assertThat(stored.getNextBooking(), notNullValue());
+        assertThat(stored.getNextBooking().getBookingId(), equalTo(started.getId()));
+    }
+
+    @Test
+    void rollerIsScheduledWithConfiguredInterval() {
+        List<Long> intervals = scheduledTasks.getScheduledTasks().stream()
+                .map(ScheduledTask::getTask)
+                .filter(task -> task instanceof FixedDelayTask)
+                .map(task -> ((FixedDelayTask) task).getInterval())
+                .collect(Collectors.toList());
+
+        assertThat(intervals, hasItem(Duration.ofMinutes(1).toMillis()));
+    }
+
+    // Сводка записана, пока бронирование было будущим, а теперь оно уже началось
+    private Booking createStartedNextBooking(String name) {
+        createItem(name);
+        Booking booking = new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, BookingStatus.APPROVED);
+        em.persist(booking);
+        em.flush();
+        summaryService.refresh(Collections.singletonList(item.getId()));
+        em.flush();
+        em.createQuery("update Booking b set b.start = :start where b.id = :id")
+                .setParameter("start", now.minusHours(1))
+                .setParameter("id", booking.getId())
+                .executeUpdate();
+        em.createQuery("update ItemBookingSummary s set s.rollAt = :date where s.itemId = :id")
+                .setParameter("date", now.minusHours(1))
+                .setParameter("id", item.getId())
+                .executeUpdate();
+        em.clear();
+        return booking;
+    }
+}
@@ -1,24 +1,40 @@
 package ru.practicum.shareit.booking.storage;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
+import ru.practicum.shareit.booking.dto.BookingVersions;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingWindow;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.SqlBudgetConfiguration;
+import ru.practicum.shareit.util.SqlStatementCounter;
 
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
+import static ru.practicum.shareit.util.SqlAssertions.assertMaxStatements;
 
 @DataJpaTest
+@Import(SqlBudgetConfiguration.class)
 class BookingDbStorageTest {
     @Autowired
     private TestEntityManager em;
@@ -26,6 +42,12 @@ class BookingDbStorageTest {
     @Autowired
     private BookingDbStorage bookingStorage;
 
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private SqlStatementCounter sqlCounter;
+
     @Test
     void findAllOwnerBookings() {
         User owner = new User(null, "Ivan", "iv@mail.ru");
@@ -64,7 +86,7 @@ class BookingDbStorageTest {
         em.flush();
 
         List<Booking> bookingDtoOut = bookingStorage.findAllOwnerBookings(ownerDb.getId(),
-                PageRequest.of(0, 20)).getContent();
+                BookingWindow.ANY, BookingCursor.FIRST, PageRequest.of(0, 20)).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -115,8 +137,8 @@ class BookingDbStorageTest {
         em.persist(booking);
         em.flush();
 
-        List<Booking> bookingDtoOut = bookingStorage.findAllOwnerFutureBookings(ownerDb.getId(), LocalDateTime.now(),
-                PageRequest.of(0, 20)).getContent();
+        List<Booking> bookingDtoOut = bookingStorage.findAllOwnerBookings(ownerDb.getId(),
+                BookingWindow.future(LocalDateTime.now()), BookingCursor.FIRST, PageRequest.of(0, 20)).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -167,8 +189,8 @@ class BookingDbStorageTest {
         em.persist(booking);
         em.flush();
 
-        List<Booking> bookingDtoOut = bookingStorage.findAllOwnerPastBookings(ownerDb.getId(), LocalDateTime.now(),
-                PageRequest.of(0, 20)).getContent();
+        List<Booking> bookingDtoOut = bookingStorage.findAllOwnerBookings(ownerDb.getId(),
+                BookingWindow.past(LocalDateTime.now()), BookingCursor.FIRST, PageRequest.of(0, 20)).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -219,8 +241,8 @@ class BookingDbStorageTest {
         em.persist(booking);
         em.flush();
 
-        List<Booking> bookingDtoOut = bookingStorage.findAllOwnerCurrentBookings(ownerDb.getId(), LocalDateTime.now(),
-                LocalDateTime.now(), PageRequest.of(0, 20)).getContent();
+        List<Booking> bookingDtoOut = bookingStorage.findAllOwnerBookings(ownerDb.getId(),
+                BookingWindow.current(LocalDateTime.now()), BookingCursor.FIRST, PageRequest.of(0, 20)).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
         assertThat(bookingDtoOut.get(0).getStart(), equalTo(booking.getStart()));
@@ -271,8 +293,9 @@ class BookingDbStorageTest {
         em.persist(booking);
         em.flush();
 
-        List<Booking> bookingDtoOut = bookingStorage.findAllOwnerBookingsByStatus(ownerDb.getId(),
-                BookingStatus.WAITING,
+        List<Booking> bookingDtoOut = bookingStorage.findAllOwnerBookings(ownerDb.getId(),
+                BookingWindow.withStatus(BookingStatus.WAITING),
+                BookingCursor.FIRST,
                 PageRequest.of(0, 20)).getContent();
 
         assertThat(bookingDtoOut.get(0).getId(), notNullValue());
@@ -286,4 +309,199 @@ class BookingDbStorageTest {
                 equalTo(booker.getId()));
         assertThat(bookingDtoOut.get(0).getStatus(), equalTo(BookingStatus.WAITING));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findItemsNextAndLastBookings() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        User booker = new User(null, "Eva", "eva@mail.ru");
+
+        em.persist(owner);
+        em.persist(booker);
+
+        Item item = new Item(null, "черенок", "отличный черенок", true, owner, null);
+        Item item1 = new Item(null, "лопата", "отличная лопата", true, owner, null);
+
+        em.persist(item);
+        em.persist(item1);
+
+        Booking last = new Booking(null,
+                LocalDateTime.now().minusDays(2L),
+                LocalDateTime.now().minusDays(1L),
+                item,
+                booker,
+                BookingStatus.APPROVED);
+        Booking rejectedLast = new Booking(null,
+                LocalDateTime.now().minusHours(2L),
+                LocalDateTime.now().minusHours(1L),
+                item,
+                booker,
+                BookingStatus.REJECTED);
+        Booking next = new Booking(null,
+                LocalDateTime.now().plusDays(1L),
+                LocalDateTime.now().plusDays(2L),
+                item,
+                booker,
+                BookingStatus.WAITING);
+        Booking later = new Booking(null,
+                LocalDateTime.now().plusDays(3L),
+                LocalDateTime.now().plusDays(4L),
+                item,
+                booker,
+                BookingStatus.APPROVED);
+        Booking next1 = new Booking(null,
+                LocalDateTime.now().plusDays(5L),
+                LocalDateTime.now().plusDays(6L),
+                item1,
+                booker,
+                BookingStatus.APPROVED);
+
+        em.persist(last);
+        em.persist(rejectedLast);
+        em.persist(next);
+        em.persist(later);
+        em.persist(next1);
+        em.flush();
+
+        List<Long> itemIds = List.of(item.getId(), item1.getId());
+
+        List<Booking> nextBookings = assertMaxStatements(sqlCounter, 1,
+                () -> bookingStorage.findItemsNextBookings(itemIds, LocalDateTime.now(), BookingStatus.REJECTED));
+        List<Booking> lastBookings = assertMaxStatements(sqlCounter, 1,
+                () -> bookingStorage.findItemsLastBookings(itemIds, LocalDateTime.now(), BookingStatus.REJECTED));
+
+        assertThat(nextBookings, hasSize(2));
+        assertThat(nextBookings, containsInAnyOrder(
+                hasProperty("id", equalTo(next.getId())),
+                hasProperty("id", equalTo(next1.getId()))));
+        assertThat(lastBookings, hasSize(1));
+        assertThat(lastBookings.get(0).getId(), equalTo(last.getId()));
+    }
+
+    @Test
+    void listingQueriesFetchItemAndBookerInOneStatement() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        User booker = new User(null, "Eva", "eva@mail.ru");
+
+        em.persist(owner);
+        em.persist(booker);
+
+        Item item = new Item(null, "черенок", "отличный черенок", true, owner, null);
+
+        em.persist(item);
+        em.persist(new Booking(null,
+                LocalDateTime.now().plusDays(1L),
+                LocalDateTime.now().plusDays(2L),
+                item,
+                booker,
+                BookingStatus.WAITING));
+        em.persist(new Booking(null,
+                LocalDateTime.now().plusDays(3L),
+                LocalDateTime.now().plusDays(4L),
+                item,
+                booker,
+                BookingStatus.WAITING));
+        em.flush();
+        em.clear();
+        emf.getCache().evictAll();
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Slice<Booking> ownerBookings = bookingStorage.findAllOwnerBookings(owner.getId(),
+                BookingWindow.ANY, BookingCursor.FIRST, PageRequest.of(0, 1));
+
+        assertThat(ownerBookings.getContent().get(0).getItem().getName(), equalTo(item.getName()));
+        assertThat(ownerBookings.getContent().get(0).getBooker().getName(), equalTo(booker.getName()));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(ownerBookings.getContent(), hasSize(1));
+        assertThat(ownerBookings.hasNext(), equalTo(true));
+
+        statistics.clear();
+
+        Slice<Booking> userBookings = bookingStorage.findAllUserBookings(booker.getId(),
+                BookingWindow.withStatus(BookingStatus.WAITING),
+                BookingCursor.FIRST,
+                PageRequest.of(0, 2));
+
+        for (Booking booking : userBookings) {
+            assertThat(booking.getItem().getOwnerId().getId(), equalTo(owner.getId()));
+            assertThat(booking.getBooker().getName(), equalTo(booker.getName()));
+        }
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(userBookings.getContent(), hasSize(2));
+        assertThat(userBookings.hasNext(), equalTo(false));
+    }
+
+    @Test
+    void findVersionsByIdTracksBookingItemAndBooker() {
+        User owner = em.persist(new User(null, "Ivan", "iv@mail.ru"));
+        User booker = em.persist(new User(null, "Eva", "eva@mail.ru"));
+        Item item = em.persist(new Item(null, "черенок", "отличный черенок", true, owner, null));
+        Booking booking = em.persist(new Booking(null,
+                LocalDateTime.now().plusDays(1L),
+                LocalDateTime.now().plusDays(2L),
+                item,
+                booker,
+                BookingStatus.WAITING));
+        em.flush();
+
+        BookingVersions created = bookingStorage.findVersionsById(booking.getId(), owner.getId()).get();
+        assertThat(created.getVersion(), equalTo(0L));
+        assertThat(created.getItemVersion(), equalTo(0L));
+        assertThat(created.getBookerVersion(), equalTo(0L));
+
+        booking.setStatus(BookingStatus.APPROVED);
+        item.setName("лопата");
+        em.flush();
+
+        BookingVersions updated = bookingStorage.findVersionsById(booking.getId(), booker.getId()).get();
+        assertThat(updated.getVersion(), equalTo(1L));
+        assertThat(updated.getItemVersion(), equalTo(1L));
+        assertThat(updated.getBookerVersion(), equalTo(0L));
+
+        User stranger = em.persist(new User(null, "Oleg", "oleg@mail.ru"));
+        assertThat(bookingStorage.findVersionsById(booking.getId(), stranger.getId()).isPresent(), equalTo(false));
+    }
+
+    @Test
+    void countBookingsByStateInOneStatement() {
+        User owner = em.persist(new User(null, "Ivan", "iv@mail.ru"));
+        User booker = em.persist(new User(null, "Eva", "eva@mail.ru"));
+        User stranger = em.persist(new User(null, "Oleg", "oleg@mail.ru"));
+        Item item = em.persist(new Item(null, "черенок", "отличный черенок", true, owner, null));
+        Item strangerItem = em.persist(new Item(null, "лопата", "острая лопата", true, stranger, null));
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+        em.persist(new Booking(null, now.minusDays(2L), now.minusDays(1L), item, booker, BookingStatus.APPROVED));
+        em.persist(new Booking(null, now, now.plusDays(1L), item, booker, BookingStatus.WAITING));
+        em.persist(new Booking(null, now.minusDays(1L), now, item, booker, BookingStatus.APPROVED));
+        em.persist(new Booking(null, now.plusDays(1L), now.plusDays(2L), item, booker, BookingStatus.REJECTED));
+        em.persist(new Booking(null, now.plusDays(3L), now.plusDays(4L), item, booker, BookingStatus.WAITING));
+        em.persist(new Booking(null, now.plusDays(1L), now.plusDays(2L), strangerItem, owner,
+                BookingStatus.WAITING));
+        em.flush();
+
+        BookingStateCounts ownerCounts = assertMaxStatements(sqlCounter, 1, () -> bookingStorage
+                .countOwnerBookings(owner.getId(), now, BookingStatus.WAITING, BookingStatus.REJECTED));
+
+        assertThat(ownerCounts.getAll(), equalTo(5L));
+        assertThat(ownerCounts.getPast(), equalTo(1L));
+        assertThat(ownerCounts.getCurrent(), equalTo(2L));
+        assertThat(ownerCounts.getFuture(), equalTo(2L));
+        assertThat(ownerCounts.getWaiting(), equalTo(2L));
+        assertThat(ownerCounts.getRejected(), equalTo(1L));
+
+        BookingStateCounts userCounts = assertMaxStatements(sqlCounter, 1, () -> bookingStorage
+                .countUserBookings(owner.getId(), now, BookingStatus.WAITING, BookingStatus.REJECTED));
+
+        assertThat(userCounts.getAll(), equalTo(1L));
+        assertThat(userCounts.getFuture(), equalTo(1L));
+        assertThat(userCounts.getWaiting(), equalTo(1L));
+
+        BookingStateCounts emptyCounts = bookingStorage
+                .countUserBookings(stranger.getId(), now, BookingStatus.WAITING, BookingStatus.REJECTED);
+
+        assertThat(emptyCounts.getAll(), equalTo(0L));
+        assertThat(emptyCounts.getCurrent(), equalTo(0L));
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -14,6 +15,7 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemTransferService;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
@@ -34,6 +36,9 @@ class ItemControllerTest {
     @MockBean
     ItemService itemService;
 
+    @MockBean
+    ItemTransferService itemTransferService;
+
     @Autowired
     private MockMvc mvc;
 
@@ -103,7 +108,8 @@ class ItemControllerTest {
 
     @Test
     void getAllUserItems() throws Exception {
-        when(itemService.getAllUserItems(anyLong(), anyInt(), anyInt())).thenReturn(Collections.singletonList(itemDto));
+        when(itemService.getAllUserItems(anyLong(), anyInt(), anyInt()))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(itemDto)));
 
         mvc.perform(get("/items")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -125,7 +131,7 @@ class ItemControllerTest {
     @Test
     void searchItemsByNameOrDescription() throws Exception {
         when(itemService.searchItemsByNameOrDescription(anyString(), anyInt(), anyInt()))
-                .thenReturn(Collections.singletonList(itemDto));
+                .thenReturn(new SliceImpl<>(Collections.singletonList(itemDto)));
 
         mvc.perform(get("/items/search?text=Rub")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemDbStorage;
+
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ItemDbStorage itemStorage = mock(ItemDbStorage.class);
+        when(itemStorage.streamAllBy()).thenReturn(Stream.of(
+                new ItemDocument(1L, "УШМ", "niceRUB", true, null),
+                new ItemDocument(2L, "rubilnik", "old", false, null),
+                new ItemDocument(3L, "rubanok", "cool", true, 7L)));
+        index = new ItemSearchIndex(itemStorage);
+        index.rebuild();
+    }
+
+    @Test
+    void searchRanksNameMatchesFirst() {
+        Slice<ItemDto> items = index.search("RuB", PageRequest.of(0, 20));
+
+        assertThat(items.getContent(), contains(
+                hasProperty("id", equalTo(3L)),
+                hasProperty("id", equalTo(1L))));
+        assertThat(items.getContent().get(0).getRequestId(), equalTo(7L));
+        assertThat(items.hasNext(), equalTo(false));
+    }
+
+    @Test
+    void searchShortQuery() {
+        Slice<ItemDto> items = index.search("уш", PageRequest.of(0, 20));
+
+        assertThat(items.getContent(), contains(hasProperty("id", equalTo(1L))));
+    }
+
+    @Test
+    void searchPage() {
+        Slice<ItemDto> firstPage = index.search("rub", PageRequest.of(0, 1));
+        Slice<ItemDto> secondPage = index.search("rub", PageRequest.of(1, 1));
+
+        assertThat(firstPage.getContent(), contains(hasProperty("id", equalTo(3L))));
+        assertThat(firstPage.hasNext(), equalTo(true));
+        assertThat(secondPage.getContent(), contains(hasProperty("id", equalTo(1L))));
+        assertThat(secondPage.hasNext(), equalTo(false));
+    }
+
+    @Test
+    void onItemSavedReplacesItem() {
+        index.onItemSaved(new ItemSavedEvent(new Item(3L, "рубанок", "cool", true, null, 7L)));
+        index.onItemSaved(new ItemSavedEvent(new Item(2L, "rubilnik", "old", true, null, null)));
+        index.onItemSaved(new ItemSavedEvent(new Item(4L, "щетка", "для подошвы", true, null, null)));
+
+        assertThat(index.search("rub", PageRequest.of(0, 20)).getContent(), contains(
+                hasProperty("id", equalTo(2L)),
+                hasProperty("id", equalTo(1L))));
+        assertThat(index.search("подошв", PageRequest.of(0, 20)).getContent(), contains(
+                hasProperty("id", equalTo(4L))));
+        assertThat(index.search("anok", PageRequest.of(0, 20)).getContent(), empty());
+    }
+
+    @Test
+    void searchUnknownText() {
+        assertThat(index.search("дрель", PageRequest.of(0, 20)).getContent(), empty());
+    }
+}
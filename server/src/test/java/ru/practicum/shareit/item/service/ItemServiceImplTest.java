@@ -1,17 +1,22 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.SqlStatementCounter;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -19,6 +24,8 @@ import javax.transaction.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.allOf;
@@ -28,6 +35,7 @@ import static org.hamcrest.Matchers.*;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.util.SqlAssertions.assertMaxStatements;
 
 @Transactional
 @SpringBootTest(
@@ -38,6 +46,10 @@ class ItemServiceImplTest {
     private ItemMapper itemMapper;
     @Autowired
     private ItemService itemService;
+    @Autowired
+    private SqlStatementCounter sqlCounter;
+    @Autowired
+    private ItemBookingSummaryService summaryService;
     private final EntityManager em;
 
     @Test
@@ -137,6 +149,7 @@ class ItemServiceImplTest {
         em.persist(booking);
         em.persist(booking1);
         em.flush();
+        summaryService.refresh(Collections.singletonList(itemDb.getId()));
         ItemDto itemDto = itemService.getById(
                 itemQuery.setParameter("name", item.getName()).getSingleResult().getId(),
                 userQuery.setParameter("name", owner.getName()).getSingleResult().getId());
@@ -183,7 +196,7 @@ class ItemServiceImplTest {
         List<ItemDto> targetItems = itemService.getAllUserItems(
                 userQuery.setParameter("name", user.getName()).getSingleResult().getId(),
                 0,
-                20);
+                20).getContent();
 
         assertThat(targetItems, hasSize(items.size()));
         for (ItemDto sourceItem : items) {
@@ -196,6 +209,77 @@ class ItemServiceImplTest {
         }
     }
 
+    @Test
+    void getAllUserItemsWithBookingsAndComments() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        User booker = new User(null, "Eva", "eva@mail.ru");
+        em.persist(owner);
+        em.persist(booker);
+        em.flush();
+
+        Item item = new Item(null, "rubanok", "cool", true, owner, null);
+        Item item1 = new Item(null, "УШМ", "nice", true, owner, null);
+        em.persist(item);
+        em.persist(item1);
+        em.flush();
+
+        Booking past = new Booking(null,
+                LocalDateTime.now().minusDays(3L),
+                LocalDateTime.now().minusDays(2L),
+                item,
+                booker,
+                BookingStatus.APPROVED);
+        Booking last = new Booking(null,
+                LocalDateTime.now().minusDays(2L),
+                LocalDateTime.now().minusDays(1L),
+                item,
+                booker,
+                BookingStatus.APPROVED);
+        Booking next = new Booking(null,
+                LocalDateTime.now().plusDays(1L),
+                LocalDateTime.now().plusDays(2L),
+                item,
+                booker,
+                BookingStatus.WAITING);
+        Booking future = new Booking(null,
+                LocalDateTime.now().plusDays(3L),
+                LocalDateTime.now().plusDays(4L),
+                item,
+                booker,
+                BookingStatus.APPROVED);
+        Booking rejected = new Booking(null,
+                LocalDateTime.now().plusHours(1L),
+                LocalDateTime.now().plusHours(2L),
+                item1,
+                booker,
+                BookingStatus.REJECTED);
+        em.persist(past);
+        em.persist(last);
+        em.persist(next);
+        em.persist(future);
+        em.persist(rejected);
+        em.persist(new Comment(null, "good", item, booker, LocalDateTime.now()));
+        em.flush();
+        summaryService.refresh(Arrays.asList(item.getId(), item1.getId()));
+
+        List<ItemDto> targetItems = itemService.getAllUserItems(owner.getId(), 0, 20).getContent();
+
+        assertThat(targetItems, hasSize(2));
+        ItemDto itemDto = targetItems.get(0);
+        assertThat(itemDto.getId(), equalTo(item.getId()));
+        assertThat(itemDto.getLastBooking().getId(), equalTo(last.getId()));
+        assertThat(itemDto.getNextBooking().getId(), equalTo(next.getId()));
+        assertThat(itemDto.getNextBooking().getBookerId(), equalTo(booker.getId()));
+        assertThat(itemDto.getComments(), hasSize(1));
+        assertThat(itemDto.getComments().get(0).getAuthorName(), equalTo(booker.getName()));
+
+        ItemDto itemDto1 = targetItems.get(1);
+        assertThat(itemDto1.getId(), equalTo(item1.getId()));
+        assertThat(itemDto1.getLastBooking(), nullValue());
+        assertThat(itemDto1.getNextBooking(), nullValue());
+        assertThat(itemDto1.getComments(), empty());
+    }
+
     @Test
     void searchItemsByNameOrDescription() {
         User user = new User(null, "Ivan", "iv@mail.ru");
@@ -225,7 +309,7 @@ class ItemServiceImplTest {
         items.add(itemMapper.toDto(item));
         items.add(itemMapper.toDto(item1));
 
-        List<ItemDto> targetItems = itemService.searchItemsByNameOrDescription("RuB", 0, 20);
+        List<ItemDto> targetItems = itemService.searchItemsByNameOrDescription("RuB", 0, 20).getContent();
 
         assertThat(targetItems, hasSize(items.size()));
         for (ItemDto sourceItem : items) {
@@ -367,4 +451,64 @@ class ItemServiceImplTest {
         assertEquals("Comment: Пользователь не может добавить комментарий к вещи," +
                 " у которой он не был владельцем", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllUserItemsDoesNotLoadOwner() {
+        User user = new User(null, "Ivan", "iv@mail.ru");
+
+        em.persist(user);
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemDto> items = itemService.getAllUserItems(user.getId(), 0, 10).getContent();
+
+        assertThat(items, hasSize(0));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void getAllUserItemsStatementsDoNotGrowWithItems() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        User booker = new User(null, "Eva", "eva@mail.ru");
+        em.persist(owner);
+        em.persist(booker);
+        List<Long> itemIds = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            Item item = new Item(null, "rubanok" + i, "cool", true, owner, null);
+            em.persist(item);
+            itemIds.add(item.getId());
+            em.persist(new Booking(null,
+                    LocalDateTime.now().minusDays(2L),
+                    LocalDateTime.now().minusDays(1L),
+                    item,
+                    booker,
+                    BookingStatus.APPROVED));
+            em.persist(new Booking(null,
+                    LocalDateTime.now().plusDays(1L),
+                    LocalDateTime.now().plusDays(2L),
+                    item,
+                    booker,
+                    BookingStatus.WAITING));
+            em.persist(new Comment(null, "good" + i, item, booker, LocalDateTime.now()));
+        }
+        em.flush();
+        summaryService.refresh(itemIds);
+        em.flush();
+        em.clear();
+
+        List<ItemDto> items = assertMaxStatements(sqlCounter, 4,
+                () -> itemService.getAllUserItems(owner.getId(), 0, 10).getContent());
+
+        assertThat(items, hasSize(5));
+        for (ItemDto item : items) {
+            assertThat(item.getLastBooking(), notNullValue());
+            assertThat(item.getNextBooking(), notNullValue());
+            assertThat(item.getComments(), hasSize(1));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemTransferServiceImplTest {
+    @Autowired
+    private ItemTransferService itemTransferService;
+    private final EntityManager em;
+
+    @Test
+    void importItemsReportsRejectedLines() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        em.persist(owner);
+
+        ItemImportResult result = itemTransferService.importItems(owner.getId(), ndjson(
+                "{\"name\":\"rubanok\",\"description\":\"cool\",\"available\":true}\n" +
+                "{\"name\":\" \",\"description\":\"cool\",\"available\":true}\n" +
+                "{\"name\":\"drill\",\"description\":\"nice\",\"available\":false}\n"));
+
+        assertThat(result.getImported(), equalTo(2L));
+        assertThat(result.getRejected(), equalTo(1L));
+        assertThat(result.getErrors(), hasSize(1));
+        assertThat(result.getErrors().get(0).getLine(), equalTo(2L));
+        assertThat(result.getErrors().get(0).getError(), equalTo("Item: Название вещи не может быть пустым"));
+    }
+
+    @Test
+    void importItemsStopsOnMalformedLine() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        em.persist(owner);
+
+        assertThrows(BadRequestException.class, () -> itemTransferService.importItems(owner.getId(),
+                ndjson("{\"name\":\"rubanok\",\"description\":\"cool\",\"available\":true}\n{\"name\":")));
+    }
+
+    @Test
+    void importItemsThrowsForUnknownUser() {
+        assertThrows(NotFoundException.class, () -> itemTransferService.importItems(0L, ndjson("")));
+    }
+
+    @Test
+    void exportItemsWritesOneLinePerOwnerItem() {
+        User owner = new User(null, "Ivan", "iv@mail.ru");
+        User user = new User(null, "Eva", "eva@mail.ru");
+        em.persist(owner);
+        em.persist(user);
+        itemTransferService.importItems(owner.getId(), ndjson(
+                "{\"name\":\"rubanok\",\"description\":\"cool\",\"available\":true}\n" +
+                "{\"name\":\"drill\",\"description\":\"nice\",\"available\":false}\n"));
+        itemTransferService.importItems(user.getId(), ndjson(
+                "{\"name\":\"saw\",\"description\":\"sharp\",\"available\":true}\n"));
+        em.flush();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        itemTransferService.exportItems(owner.getId(), output);
+
+        String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length, equalTo(2));
+        assertThat(lines[0], allOf(containsString("\"name\":\"rubanok\""), containsString("\"available\":true")));
+        assertThat(lines[1], allOf(startsWith("{"), containsString("\"name\":\"drill\"")));
+    }
+
+    private static InputStream ndjson(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,14 +1,17 @@
 package ru.practicum.shareit.item.storage;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.TypedQuery;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +29,9 @@ class ItemDbStorageTest {
     @Autowired
     private ItemDbStorage itemStorage;
 
+    @Autowired
+    private EntityManagerFactory emf;
+
     @Test
     void search() {
         User user = new User(null, "Ivan", "iv@mail.ru");
@@ -57,7 +63,7 @@ class ItemDbStorageTest {
         items.add(item1);
 
         PageRequest page = PageRequest.of(0, 20);
-        Page<Item> targetItems = itemStorage.search("RuB", page);
+        Slice<Item> targetItems = itemStorage.search("RuB", page);
 
         assertThat(targetItems.getContent(), hasSize(items.size()));
         for (Item sourceItem : items) {
@@ -69,4 +75,94 @@ class ItemDbStorageTest {
             )));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchRanksNameMatchesFirst() {
+        User user = new User(null, "Ivan", "iv@mail.ru");
+        em.persist(user);
+
+        Item descriptionMatch = new Item(null, "УШМ", "niceRUB", true, user, null);
+        Item unavailable = new Item(null, "rubilnik", "old", false, user, null);
+        Item nameMatch = new Item(null, "rubanok", "cool", true, user, null);
+
+        em.persist(descriptionMatch);
+        em.persist(unavailable);
+        em.persist(nameMatch);
+        em.flush();
+
+        Slice<Item> targetItems = itemStorage.search("rub", PageRequest.of(0, 20));
+
+        assertThat(targetItems.getContent(), contains(
+                hasProperty("id", equalTo(nameMatch.getId())),
+                hasProperty("id", equalTo(descriptionMatch.getId()))));
+    }
+
+    @Test
+    void listingQueriesRunWithoutCount() {
+        User user = new User(null, "Ivan", "iv@mail.ru");
+        em.persist(user);
+        em.persist(new Item(null, "rubanok", "cool", true, user, null));
+        em.persist(new Item(null, "УШМ", "niceRUB", true, user, null));
+        em.flush();
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Slice<Item> searchItems = itemStorage.search("RuB", PageRequest.of(0, 1));
+
+        assertThat(statistics.getQueryExecutionCount(), equalTo(1L));
+        assertThat(searchItems.getContent(), hasSize(1));
+        assertThat(searchItems.hasNext(), equalTo(true));
+
+        statistics.clear();
+
+        Slice<Item> ownerItems = itemStorage.findAllByOwnerIdOrderById(user, PageRequest.of(0, 2));
+
+        assertThat(statistics.getQueryExecutionCount(), equalTo(1L));
+        assertThat(ownerItems.getContent(), hasSize(2));
+        assertThat(ownerItems.hasNext(), equalTo(false));
+    }
+
+    @Test
+    void saveAllInsertsInJdbcBatches() {
+        User owner = em.persistAndFlush(new User(null, "Ivan", "iv@mail.ru"));
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(new Item(null, "item" + i, "description" + i, true, owner, null));
+        }
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        itemStorage.saveAll(items);
+        em.flush();
+
+        assertThat(statistics.getEntityInsertCount(), equalTo(120L));
+        assertThat(statistics.getPrepareStatementCount(), lessThan(10L));
+    }
+
+    @Test
+    void sqlInsertTakesIdFromSequenceWithoutCollidingWithHibernate() {
+        User owner = em.persistAndFlush(new User(null, "Ivan", "iv@mail.ru"));
+        itemStorage.saveAndFlush(new Item(null, "first", "description", true, owner, null));
+
+        em.getEntityManager()
+                .createNativeQuery("INSERT INTO items (name, description, available, owner_id) " +
+                        "VALUES ('manual', 'description', TRUE, :owner)")
+                .setParameter("owner", owner.getId())
+                .executeUpdate();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(new Item(null, "item" + i, "description" + i, true, owner, null));
+        }
+        itemStorage.saveAll(items);
+        em.flush();
+
+        Number manualId = (Number) em.getEntityManager()
+                .createNativeQuery("SELECT item_id FROM items WHERE name = 'manual'")
+                .getSingleResult();
+        assertThat(items, everyItem(hasProperty("id", not(equalTo(manualId.longValue())))));
+        assertThat(itemStorage.findAllByOwnerIdOrderById(owner, PageRequest.of(0, 200)).getContent(),
+                hasSize(122));
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -81,7 +82,7 @@ class ItemRequestControllerTest {
     @Test
     void getAllRequests() throws Exception {
         when(itemRequestService.getAllRequests(anyLong(), anyInt(), anyInt()))
-                .thenReturn(Collections.singletonList(itemRequestDto));
+                .thenReturn(new SliceImpl<>(Collections.singletonList(itemRequestDto)));
 
         mvc.perform(get("/requests/all")
                         .characterEncoding(StandardCharsets.UTF_8)
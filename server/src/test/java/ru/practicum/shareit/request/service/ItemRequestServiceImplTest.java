@@ -1,14 +1,18 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.SqlStatementCounter;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -23,6 +27,8 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.Matchers.hasProperty;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.util.SqlAssertions.assertMaxStatements;
 
 @Transactional
 @SpringBootTest(
@@ -33,6 +39,8 @@ class ItemRequestServiceImplTest {
     private ItemRequestMapper itemRequestMapper;
     @Autowired
     private ItemRequestService itemRequestService;
+    @Autowired
+    private SqlStatementCounter sqlCounter;
     private final EntityManager em;
 
     @Test
@@ -105,7 +113,7 @@ class ItemRequestServiceImplTest {
                 .getSingleResult()
                 .getId(),
                 0,
-                20);
+                20).getContent();
 
         assertThat(targetItemRequests, hasSize(1));
         assertThat(targetItemRequests.get(0).getId(), notNullValue());
@@ -201,4 +209,52 @@ class ItemRequestServiceImplTest {
         assertThat(itemRequestDto.getDescription(), equalTo(itemRequest1.getDescription()));
         assertThat(itemRequestDto.getCreated(), notNullValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserRequestsDoesNotLoadRequestor() {
+        User user = new User(null, "Ivan", "iv@mail.ru");
+
+        em.persist(user);
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemRequestDto> requests = itemRequestService.getUserRequests(user.getId());
+
+        assertThat(requests, hasSize(0));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+
+        statistics.clear();
+
+        assertThrows(NotFoundException.class, () -> itemRequestService.getById(user.getId(), -1L));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void getAllRequestsStatementsDoNotGrowWithRequests() {
+        User requestor = new User(null, "Ivan", "iv@mail.ru");
+        User owner = new User(null, "Eva", "eva@mail.ru");
+        em.persist(requestor);
+        em.persist(owner);
+
+        for (int i = 0; i < 5; i++) {
+            ItemRequest request = new ItemRequest(null, "черенок" + i, requestor, LocalDateTime.now().minusHours(i));
+            em.persist(request);
+            em.persist(new Item(null, "черенок" + i, "отличный черенок", true, owner, request.getId()));
+            em.persist(new Item(null, "лопата" + i, "с черенком", true, owner, request.getId()));
+        }
+        em.flush();
+        em.clear();
+
+        List<ItemRequestDto> requests = assertMaxStatements(sqlCounter, 3,
+                () -> itemRequestService.getAllRequests(owner.getId(), 0, 10).getContent());
+
+        assertThat(requests, hasSize(5));
+        for (ItemRequestDto request : requests) {
+            assertThat(request.getItems(), hasSize(2));
+        }
+    }
+}
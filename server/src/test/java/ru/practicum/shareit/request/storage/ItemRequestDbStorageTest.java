@@ -0,0 +1,68 @@
+package ru.practicum.shareit.request.storage;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@DataJpaTest
+class ItemRequestDbStorageTest {
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ItemRequestDbStorage itemRequestStorage;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void findAllByRequestorNotInOrderByCreatedDesc() {
+        User user = new User(null, "Ivan", "iv@mail.ru");
+        User requestor = new User(null, "Eva", "eva@mail.ru");
+
+        em.persist(user);
+        em.persist(requestor);
+
+        ItemRequest itemRequest = new ItemRequest(null, "щетка для подошвы", requestor, LocalDateTime.now());
+        ItemRequest itemRequest1 = new ItemRequest(null, "черенок", requestor, LocalDateTime.now().minusDays(1L));
+
+        em.persist(itemRequest);
+        em.persist(itemRequest1);
+        em.persist(new ItemRequest(null, "лопата", user, LocalDateTime.now()));
+        em.flush();
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Slice<ItemRequest> firstPage = itemRequestStorage.findAllByRequestorNotInOrderByCreatedDesc(
+                Collections.singletonList(user), PageRequest.of(0, 1));
+
+        assertThat(statistics.getQueryExecutionCount(), equalTo(1L));
+        assertThat(firstPage.getContent(), hasSize(1));
+        assertThat(firstPage.getContent().get(0).getId(), equalTo(itemRequest.getId()));
+        assertThat(firstPage.hasNext(), equalTo(true));
+
+        Slice<ItemRequest> secondPage = itemRequestStorage.findAllByRequestorNotInOrderByCreatedDesc(
+                Collections.singletonList(user), PageRequest.of(1, 1));
+
+        assertThat(secondPage.getContent(), hasSize(1));
+        assertThat(secondPage.getContent().get(0).getId(), equalTo(itemRequest1.getId()));
+        assertThat(secondPage.hasNext(), equalTo(false));
+    }
+}
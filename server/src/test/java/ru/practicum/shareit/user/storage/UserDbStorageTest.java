@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user.storage;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class UserDbStorageTest {
+    @Autowired
+    private UserDbStorage userStorage;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void findByIdUsesSecondLevelCache() {
+        User user = userStorage.save(new User(null, "Cached", "cached@mail.ru"));
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        try {
+            userStorage.findById(user.getId());
+            statistics.clear();
+
+            userStorage.findById(user.getId());
+
+            assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount(), equalTo(1L));
+            assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+
+            user.setName("Eva");
+            userStorage.save(user);
+
+            assertThat(userStorage.findById(user.getId()).map(User::getName).orElse(null), equalTo("Eva"));
+        } finally {
+            userStorage.deleteById(user.getId());
+        }
+
+        assertThat(userStorage.findById(user.getId()).isPresent(), equalTo(false));
+    }
+
+    @Test
+    void saveWithStaleVersionFails() {
+        User user = userStorage.save(new User(null, "Stale", "stale@mail.ru"));
+
+        try {
+            User first = userStorage.findById(user.getId()).orElseThrow(IllegalStateException::new);
+            User second = userStorage.findById(user.getId()).orElseThrow(IllegalStateException::new);
+
+            first.setName("First");
+            userStorage.save(first);
+
+            second.setName("Second");
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> userStorage.save(second));
+            assertThat(userStorage.findById(user.getId()).map(User::getName).orElse(null), equalTo("First"));
+        } finally {
+            userStorage.deleteById(user.getId());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class MetricsConfigurationTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void recordsServiceTimersAndSqlStatementsPerSearchState() throws Exception {
+        UserDto user = userService.add(new UserDto(null, "Metrics", "metrics@mail.ru"));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", user.getId())
+                        .param("state", "CURRENT"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatementMetricsFilter.STATEMENTS_HEADER))
+                .andExpect(header().exists(SqlStatementMetricsFilter.TIME_HEADER));
+
+        Timer timer = registry.find("shareit.service")
+                .tags("class", "BookingServiceImpl", "method", "getAllUserBookings", "state", "CURRENT")
+                .timer();
+        assertThat(timer, notNullValue());
+        assertThat(timer.count(), equalTo(1L));
+
+        DistributionSummary statements = registry.find(SqlStatementMetricsFilter.METRIC)
+                .tags("method", "GET", "uri", "/bookings", "state", "CURRENT")
+                .summary();
+        assertThat(statements, notNullValue());
+        assertThat(statements.totalAmount(), greaterThanOrEqualTo(1.0));
+        assertThat(registry.find(SqlStatementMetricsFilter.TIME_METRIC)
+                .tags("method", "GET", "uri", "/bookings", "state", "CURRENT")
+                .timer(), notNullValue());
+
+        assertThat(registry.find("http.server.requests").tags("uri", "/bookings", "state", "CURRENT").timer(),
+                notNullValue());
+    }
+
+    @Test
+    void exposesPrometheusEndpoint() throws Exception {
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_sql_statements")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.util;
+
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public final class SqlAssertions {
+    private SqlAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(SqlStatementCounter counter, long maxStatements, Supplier<T> action) {
+        SqlStatementCounter.Measured<T> measured = counter.measure("test", action);
+        assertThat("SQL statements", measured.getStatistics().getStatements(), lessThanOrEqualTo(maxStatements));
+        return measured.getResult();
+    }
+}
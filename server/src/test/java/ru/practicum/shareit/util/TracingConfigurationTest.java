@@ -0,0 +1,125 @@
+package ru.practicum.shareit.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest(properties = {
+        "spring.sleuth.sampler.probability=1.0",
+        "shareit.tracing.file=" + TracingConfigurationTest.SPANS_FILE})
+@AutoConfigureMockMvc
+class TracingConfigurationTest {
+    static final String SPANS_FILE = "target/tracing-test/spans.jsonl";
+    private static final String TRACE_ID = "463ac35c9f6413ad48485a3953bb6124";
+    private static final String GATEWAY_SPAN_ID = "0020000000000001";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void continuesGatewayTraceWithControllerServiceAndQuerySpans() throws Exception {
+        UserDto user = userService.add(new UserDto(null, "Tracing", "tracing@mail.ru"));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", user.getId())
+                        .header("b3", TRACE_ID + "-" + GATEWAY_SPAN_ID + "-1")
+                        .param("state", "PAST"))
+                .andExpect(status().isOk());
+
+        List<JsonNode> spans = awaitSpans();
+        JsonNode server = findSpan(spans, "SERVER");
+        assertThat(server, notNullValue());
+        assertThat(server.get("parentId").asText(), equalTo(GATEWAY_SPAN_ID));
+        assertThat(server.get("localEndpoint").get("serviceName").asText(), equalTo("shareit-server"));
+
+        JsonNode service = spans.stream()
+                .filter(span -> span.get("name").asText().equals("BookingServiceImpl.getAllUserBookings"))
+                .findFirst()
+                .orElse(null);
+        assertThat(service, notNullValue());
+        assertThat(service.get("tags").get(MetricTags.STATE).asText(), equalTo("PAST"));
+
+        List<String> queryParents = new ArrayList<>();
+        spans.stream()
+                .filter(span -> span.get("tags").has("jdbc.query"))
+                .forEach(span -> queryParents.add(span.get("parentId").asText()));
+        assertThat(queryParents, not(empty()));
+        assertThat(collectAncestors(spans, queryParents.get(0)), hasItem(service.get("id").asText()));
+    }
+
+    // Span-ы пишет фоновый поток, серверный span завершается последним
+    private static List<JsonNode> awaitSpans() throws Exception {
+        List<JsonNode> spans = readSpans();
+        for (int attempt = 0; attempt < 50 && findSpan(spans, "SERVER") == null; attempt++) {
+            Thread.sleep(100);
+            spans = readSpans();
+        }
+        return spans;
+    }
+
+    private static List<JsonNode> readSpans() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> spans = new ArrayList<>();
+        String content = new String(Files.readAllBytes(Paths.get(SPANS_FILE)), StandardCharsets.UTF_8);
+        // Последняя строка может быть ещё не дописана
+        for (String line : content.substring(0, content.lastIndexOf('\n') + 1).split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            JsonNode span = mapper.readTree(line);
+            if (span.get("traceId").asText().equals(TRACE_ID)) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    private static JsonNode findSpan(List<JsonNode> spans, String kind) {
+        return spans.stream()
+                .filter(span -> span.has("kind") && span.get("kind").asText().equals(kind))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static List<String> collectAncestors(List<JsonNode> spans, String id) {
+        List<String> ancestors = new ArrayList<>();
+        String current = id;
+        while (current != null) {
+            ancestors.add(current);
+            String parent = null;
+            for (JsonNode span : spans) {
+                if (span.get("id").asText().equals(current) && span.has("parentId")) {
+                    parent = span.get("parentId").asText();
+                }
+            }
+            current = parent;
+        }
+        return ancestors;
+    }
+}